@@ -0,0 +1,126 @@
+package com.brov3r.discordapi.benchmarks;
+
+import com.brov3r.discordapi.commands.Command;
+import com.brov3r.discordapi.commands.CommandsManager;
+import discord4j.core.DiscordClientBuilder;
+import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.message.MessageCreateEvent;
+import discord4j.core.object.entity.Message;
+import discord4j.core.retriever.EntityRetrievalStrategy;
+import discord4j.discordjson.json.MessageData;
+import discord4j.discordjson.json.UserData;
+import discord4j.gateway.ShardInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the command dispatcher resolves chat messages,
+ * both for regular chat messages and for messages addressing a registered command.
+ * <p>
+ * Executing a matching command also adds a reaction via REST, logs the call and notifies the plugin listeners,
+ * so the matching path is measured up to and including {@link Command#execute}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDispatchBenchmark {
+    private String chatMessage;
+    private String unknownCommand;
+    private String matchingCommand;
+    private MessageCreateEvent chatEvent;
+
+    @Setup
+    public void setup() {
+        CommandsManager.setCommandPrefix("!");
+        for (int i = 0; i < 100; i++) {
+            CommandsManager.addCommand(new NoopCommand("command" + i));
+        }
+
+        chatMessage = "Has anyone seen the helicopter event near Muldraugh today?";
+        unknownCommand = "!unknown first second";
+        matchingCommand = "!Command42 first \"second argument\"";
+
+        chatEvent = createEvent(chatMessage);
+    }
+
+    /**
+     * Creates a message event that is never connected to Discord
+     *
+     * @param content content of the message
+     * @return message event
+     */
+    @SuppressWarnings("deprecation")
+    private static MessageCreateEvent createEvent(String content) {
+        GatewayDiscordClient gateway = new GatewayDiscordClient(DiscordClientBuilder.create("MTIzNDU2Nzg5.benchmark.token").build(),
+                null, Mono.never(), null, null, EntityRetrievalStrategy.REST, Collections.emptySet());
+
+        MessageData data = MessageData.builder()
+                .id(1L)
+                .channelId(2L)
+                .author(UserData.builder().id(3L).username("Benchmark").discriminator("0000").build())
+                .content(content)
+                .timestamp("2024-01-01T00:00:00+00:00")
+                .tts(false)
+                .mentionEveryone(false)
+                .pinned(false)
+                .type(0)
+                .build();
+
+        return new MessageCreateEvent(gateway, ShardInfo.create(0, 1), new Message(gateway, data), null, null);
+    }
+
+    @Benchmark
+    public void executeNonMatching() {
+        CommandsManager.executeCommand(chatEvent);
+    }
+
+    @Benchmark
+    public Command nonMatching() {
+        return CommandsManager.findCommand(chatMessage);
+    }
+
+    @Benchmark
+    public Command unknown() {
+        return CommandsManager.findCommand(unknownCommand);
+    }
+
+    @Benchmark
+    public Command matching() {
+        return CommandsManager.findCommand(matchingCommand);
+    }
+
+    @Benchmark
+    public boolean matchingWithArgs() {
+        Command command = CommandsManager.findCommand(matchingCommand);
+        return command.execute(chatEvent, CommandsManager.getCommandArgs(matchingCommand));
+    }
+
+    /**
+     * Command doing nothing, used to fill the registry
+     */
+    public static class NoopCommand extends Command {
+        public NoopCommand(String name) {
+            super(name, "Benchmark command");
+        }
+
+        @Override
+        public boolean execute(MessageCreateEvent event, String[] args) {
+            return true;
+        }
+    }
+}
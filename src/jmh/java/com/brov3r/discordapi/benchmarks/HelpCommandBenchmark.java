@@ -0,0 +1,49 @@
+package com.brov3r.discordapi.benchmarks;
+
+import com.brov3r.discordapi.commands.Command;
+import com.brov3r.discordapi.commands.HelpCommand;
+import discord4j.core.spec.EmbedCreateSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the embed of the help command listing all registered commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpCommandBenchmark {
+    @Param({"10", "100", "1000"})
+    private int commands;
+
+    private Map<String, Command> commandMap;
+
+    @Setup
+    public void setup() {
+        commandMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < commands; i++) {
+            commandMap.put("command" + i, new CommandDispatchBenchmark.NoopCommand("command" + i));
+        }
+    }
+
+    @Benchmark
+    public EmbedCreateSpec getAllCommands() {
+        return HelpCommand.getAllCommands(commandMap, "!", "Bot Commands", "Available bot commands:");
+    }
+}
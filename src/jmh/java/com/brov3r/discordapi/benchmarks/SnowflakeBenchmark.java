@@ -0,0 +1,52 @@
+package com.brov3r.discordapi.benchmarks;
+
+import com.brov3r.discordapi.utils.SnowflakeCache;
+import discord4j.common.util.Snowflake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of converting channel IDs to {@link Snowflake} objects
+ * for the String, cached String and long overloads of the Discord API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnowflakeBenchmark {
+    private String stringId;
+    private long longId;
+
+    @Setup
+    public void setup() {
+        stringId = "1178453210987654321";
+        longId = Long.parseUnsignedLong(stringId);
+    }
+
+    @Benchmark
+    public Snowflake parseString() {
+        return Snowflake.of(stringId);
+    }
+
+    @Benchmark
+    public Snowflake cachedString() {
+        return SnowflakeCache.of(stringId);
+    }
+
+    @Benchmark
+    public Snowflake fromLong() {
+        return Snowflake.of(longId);
+    }
+}
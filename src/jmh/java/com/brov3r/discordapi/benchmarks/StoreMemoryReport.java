@@ -0,0 +1,134 @@
+package com.brov3r.discordapi.benchmarks;
+
+import com.brov3r.discordapi.GatewayFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import discord4j.common.JacksonResources;
+import discord4j.common.store.Store;
+import discord4j.common.store.action.gateway.GatewayActions;
+import discord4j.common.store.impl.LocalStoreLayout;
+import discord4j.discordjson.json.gateway.GuildCreate;
+import discord4j.discordjson.json.gateway.MessageCreate;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+
+/**
+ * Compares the heap retained by the entity store modes on a synthetic guild.
+ * <p>
+ * Run with {@code gradlew storeMemoryReport}. The guild size can be changed with
+ * {@code -Pmembers=<count>} and {@code -Pmessages=<count>}.
+ */
+public class StoreMemoryReport {
+    private static final ObjectMapper mapper = JacksonResources.create().getObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        String guildJson = guildJson(members);
+        String[] messageJsons = new String[messages];
+        for (int i = 0; i < messages; i++) {
+            messageJsons[i] = messageJson(i, members);
+        }
+
+        System.out.printf("Synthetic guild: %d members with presences, 200 channels, 100 roles, %d messages%n", members, messages);
+        System.out.printf("%-6s %12s%n", "Mode", "Retained MB");
+
+        for (GatewayFactory.StoreMode mode : GatewayFactory.StoreMode.values()) {
+            System.out.printf("%-6s %12.1f%n", mode, measure(mode, guildJson, messageJsons) / 1024.0 / 1024.0);
+        }
+    }
+
+    /**
+     * Feeds the synthetic guild into a new store and measures the heap retained by the store.
+     * Payloads are parsed during the measurement, so entities the store does not keep are collected.
+     */
+    private static long measure(GatewayFactory.StoreMode mode, String guildJson, String[] messageJsons) throws Exception {
+        long before = usedHeap();
+
+        Store store = GatewayFactory.createStore(mode, 500, 1000, 1000,
+                GatewayFactory.parseStoreFlags("CHANNEL, GUILD, ROLE, USER, MESSAGE, MEMBER, PRESENCE"));
+        if (store == null) store = Store.fromLayout(LocalStoreLayout.create());
+
+        Mono.from(store.execute(GatewayActions.guildCreate(0, mapper.readValue(guildJson, GuildCreate.class)))).block();
+        for (String messageJson : messageJsons) {
+            Mono.from(store.execute(GatewayActions.messageCreate(0, mapper.readValue(messageJson, MessageCreate.class)))).block();
+        }
+
+        long retained = usedHeap() - before;
+        Reference.reachabilityFence(store);
+
+        return retained;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static String userJson(long id) {
+        return "{\"id\":\"" + id + "\",\"username\":\"player" + id + "\",\"discriminator\":\"0\",\"avatar\":null}";
+    }
+
+    private static String guildJson(int members) {
+        long guildId = 100_000_000_000_000_000L;
+        StringBuilder json = new StringBuilder();
+        json.append("{\"id\":\"").append(guildId).append("\",\"name\":\"Synthetic\",\"icon\":null,\"owner_id\":\"1\",")
+                .append("\"afk_channel_id\":null,\"afk_timeout\":300,\"verification_level\":0,\"default_message_notifications\":0,")
+                .append("\"explicit_content_filter\":0,\"emojis\":[],\"features\":[],\"mfa_level\":0,\"application_id\":null,")
+                .append("\"system_channel_id\":null,\"system_channel_flags\":0,\"rules_channel_id\":null,\"vanity_url_code\":null,")
+                .append("\"description\":null,\"banner\":null,\"premium_tier\":0,\"preferred_locale\":\"en-US\",")
+                .append("\"public_updates_channel_id\":null,\"nsfw_level\":0,\"joined_at\":\"2024-01-01T00:00:00+00:00\",")
+                .append("\"large\":true,\"member_count\":").append(members).append(",\"voice_states\":[],\"threads\":[],")
+                .append("\"stickers\":[],\"guild_scheduled_events\":[],\"premium_progress_bar_enabled\":false,");
+
+        json.append("\"roles\":[");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"").append(guildId + i).append("\",\"name\":\"role").append(i)
+                    .append("\",\"color\":0,\"hoist\":false,\"position\":").append(i)
+                    .append(",\"permissions\":\"0\",\"managed\":false,\"mentionable\":false,\"flags\":0}");
+        }
+
+        json.append("],\"channels\":[");
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"").append(guildId + 1000 + i).append("\",\"type\":0,\"name\":\"channel").append(i)
+                    .append("\",\"position\":").append(i).append(",\"permission_overwrites\":[]}");
+        }
+
+        json.append("],\"members\":[");
+        for (int i = 0; i < members; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"user\":").append(userJson(guildId + 10_000 + i))
+                    .append(",\"roles\":[\"").append(guildId + i % 100).append("\"],\"joined_at\":\"2024-01-01T00:00:00+00:00\",")
+                    .append("\"deaf\":false,\"mute\":false}");
+        }
+
+        json.append("],\"presences\":[");
+        for (int i = 0; i < members; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"user\":{\"id\":\"").append(guildId + 10_000 + i).append("\"},\"status\":\"online\",")
+                    .append("\"activities\":[{\"id\":\"pz\",\"name\":\"Project Zomboid\",\"type\":0,\"created_at\":0}],")
+                    .append("\"client_status\":{\"desktop\":\"online\"}}");
+        }
+
+        return json.append("]}").toString();
+    }
+
+    private static String messageJson(int index, int members) {
+        long guildId = 100_000_000_000_000_000L;
+        return "{\"id\":\"" + (guildId + 1_000_000 + index) + "\",\"channel_id\":\"" + (guildId + 1000 + index % 200)
+                + "\",\"guild_id\":\"" + guildId + "\",\"author\":" + userJson(guildId + 10_000 + index % Math.max(members, 1))
+                + ",\"content\":\"Relayed chat line number " + index + " from the game server\","
+                + "\"timestamp\":\"2024-01-01T00:00:00+00:00\",\"edited_timestamp\":null,\"tts\":false,"
+                + "\"mention_everyone\":false,\"mentions\":[],\"mention_roles\":[],\"attachments\":[],\"embeds\":[],"
+                + "\"pinned\":false,\"type\":0}";
+    }
+}
@@ -0,0 +1,46 @@
+package com.brov3r.discordapi.benchmarks;
+
+import com.brov3r.discordapi.services.WebhookHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of webhook URLs passed to {@code DiscordAPI.sendWebhook}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookBenchmark {
+    private String webhookUrl;
+    private String invalidUrl;
+
+    @Setup
+    public void setup() {
+        webhookUrl = "https://discord.com/api/webhooks/1178453210987654321/"
+                + "aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789_-aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789";
+        invalidUrl = "https://example.com/hooks/1178453210987654321";
+    }
+
+    @Benchmark
+    public WebhookHandle parse() {
+        return WebhookHandle.parse(webhookUrl);
+    }
+
+    @Benchmark
+    public WebhookHandle parseInvalid() {
+        return WebhookHandle.parse(invalidUrl);
+    }
+}
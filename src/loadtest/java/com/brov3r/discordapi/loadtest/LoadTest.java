@@ -0,0 +1,341 @@
+package com.brov3r.discordapi.loadtest;
+
+import com.avrix.utils.YamlFile;
+import com.brov3r.discordapi.Main;
+import com.brov3r.discordapi.commands.Command;
+import com.brov3r.discordapi.commands.CommandsManager;
+import com.brov3r.discordapi.events.DiscordEvents;
+import com.brov3r.discordapi.events.InboundDispatcher;
+import com.brov3r.discordapi.metrics.Metrics;
+import com.brov3r.discordapi.metrics.OperationMetrics;
+import com.brov3r.discordapi.services.DiscordAPIImpl;
+import com.brov3r.discordapi.services.MessageQueue;
+import discord4j.common.util.Snowflake;
+import discord4j.core.event.domain.message.MessageCreateEvent;
+import discord4j.core.spec.WebhookExecuteSpec;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Offline load test of the plugin against {@link MockDiscordServer}.
+ * <p>
+ * The plugin is started as on the server, with its bundled configuration pointed at the mock server.
+ * The outbound phase sends messages, merged chat messages, reactions and webhooks at a fixed rate through
+ * {@link DiscordAPIImpl}, so requests pass the message queue, the channel cache, the outbound scheduler and the journal.
+ * The inbound phase dispatches {@code MESSAGE_CREATE} events from the mock gateway, which go through
+ * {@link DiscordEvents} and the {@link InboundDispatcher} to {@link CommandsManager}, as in the plugin.
+ * Both phases report throughput, latency percentiles and heap use.
+ * <p>
+ * The outbound scheduler dispatches {@code outbound.ratePerSecond} requests per second per bot, just below the
+ * Discord limit, so the outbound throughput of a single bot levels off there. Use more bots to measure the client pool.
+ * <p>
+ * Usage: {@code gradlew loadTest -Prate=500 -Pduration=30 -Pchannels=20 -Pbots=1}
+ */
+public class LoadTest {
+    private static final long FIRST_CHANNEL_ID = 500000000000000001L;
+    private static final String WEBHOOK_URL = "https://discord.com/api/webhooks/600000000000000001/mock-token";
+
+    private final int rate;
+    private final int durationSeconds;
+    private final int channels;
+    private final int bots;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peakHeap = new AtomicLong();
+
+    private LoadTest(int rate, int durationSeconds, int channels, int bots) {
+        this.rate = rate;
+        this.durationSeconds = durationSeconds;
+        this.channels = channels;
+        this.bots = bots;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int duration = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int channels = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int bots = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        new LoadTest(rate, duration, channels, bots).run();
+        System.exit(0);
+    }
+
+    private void run() throws IOException, InterruptedException {
+        MockDiscordServer server = new MockDiscordServer(Math.max(rate / channels, 5), 1000, 0.01).start();
+        System.out.printf("[#] Mock Discord listening at %s%n", server.getApiBaseUrl());
+
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        heapSampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+
+        Main.start(createConfig(server));
+        if (Main.whenReady().onErrorResume(error -> Mono.empty()).block(Duration.ofSeconds(30)) == null) {
+            System.out.println("[!] Failed to connect to the mock gateway!");
+        } else {
+            runOutbound(server, Main.getDiscordAPI());
+            runInbound(server);
+
+            System.out.printf("[#] Mock server: %d requests, %d answered with 429, plugin counted %d rate limit hits%n",
+                    server.getRequests(), server.getRateLimited(), Metrics.getRateLimitHits());
+        }
+
+        Main.shutdown();
+        heapSampler.shutdownNow();
+        server.stop();
+    }
+
+    /**
+     * Writes the bundled plugin configuration, pointed at the mock server, to a temporary directory.
+     * Command cooldowns are lifted, so that every command of the inbound phase is executed.
+     *
+     * @param server the mock server
+     * @return the configuration
+     */
+    private YamlFile createConfig(MockDiscordServer server) throws IOException {
+        Path directory = Files.createTempDirectory("discord-api-loadtest-");
+
+        StringJoiner additionalTokens = new StringJoiner(",");
+        for (int i = 1; i < bots; i++) {
+            additionalTokens.add(MockDiscordServer.createToken(MockDiscordServer.BOT_ID + i));
+        }
+
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("botToken", MockDiscordServer.TOKEN);
+        overrides.put("apiBaseUrl", server.getApiBaseUrl());
+        overrides.put("additionalBotTokens", additionalTokens.toString());
+        overrides.put("cooldowns.user", "0");
+        overrides.put("cooldowns.channel", "0");
+        overrides.put("cooldowns.command", "0");
+        overrides.put("cooldowns.noticeInterval", "0");
+        overrides.put("journal.path", directory.resolve("outbound.journal").toString());
+        overrides.put("slashCommands.hashFile", directory.resolve("slash-commands.hash").toString());
+
+        String bundled;
+        try (InputStream input = Main.class.getResourceAsStream("/config.yml")) {
+            if (input == null) throw new IOException("The bundled config.yml was not found");
+            bundled = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        Path file = directory.resolve("config.yml");
+        Files.write(file, override(bundled.split("\r?\n"), overrides), StandardCharsets.UTF_8);
+        return new YamlFile(file.toString());
+    }
+
+    /**
+     * Replaces values of a YAML document, keeping its layout and comments.
+     *
+     * @param lines     lines of the document
+     * @param overrides new values by dotted key, e.g. {@code cooldowns.user}
+     * @return lines of the changed document
+     */
+    private static List<String> override(String[] lines, Map<String, String> overrides) {
+        List<String> result = new ArrayList<>();
+        Deque<String> keys = new ArrayDeque<>();
+        Deque<Integer> indents = new ArrayDeque<>();
+
+        for (String line : lines) {
+            String trimmed = line.trim();
+            int colon = trimmed.indexOf(':');
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || colon < 0) {
+                result.add(line);
+                continue;
+            }
+
+            int indent = line.indexOf(trimmed);
+            while (!indents.isEmpty() && indents.peek() >= indent) {
+                indents.pop();
+                keys.pop();
+            }
+
+            String key = trimmed.substring(0, colon);
+            if (trimmed.substring(colon + 1).isBlank()) {
+                keys.push(key);
+                indents.push(indent);
+                result.add(line);
+                continue;
+            }
+
+            StringJoiner path = new StringJoiner(".");
+            keys.descendingIterator().forEachRemaining(path::add);
+            path.add(key);
+
+            String value = overrides.get(path.toString());
+            result.add(value == null ? line : line.substring(0, indent) + key + ": '" + value.replace("'", "''") + "'");
+        }
+        return result;
+    }
+
+    /**
+     * Sends messages, merged chat messages, reactions and webhooks at the configured rate.
+     */
+    private void runOutbound(MockDiscordServer server, DiscordAPIImpl api) throws InterruptedException {
+        OperationMetrics latency = new OperationMetrics("outbound");
+        LongAdder completed = new LongAdder();
+
+        Phase phase = startPhase("Outbound");
+        long sent = generate(i -> {
+            Snowflake channelId = Snowflake.of(FIRST_CHANNEL_ID + i % channels);
+
+            // Chat messages are merged by the message queue, they complete once they are queued
+            if (i % 10 == 2) {
+                api.sendMessage(channelId, "Chat " + i);
+                completed.increment();
+                return;
+            }
+
+            Mono<?> request = switch ((int) (i % 10)) {
+                case 0 -> api.addReactionAsync(channelId, Snowflake.of(i + 1), "\u2705");
+                case 1 -> api.sendWebhookAsync(WEBHOOK_URL, WebhookExecuteSpec.builder().content("Webhook " + i).build());
+                default -> api.sendMessageAsync(channelId, "Message " + i);
+            };
+
+            latency.time(request)
+                    .doFinally(signal -> completed.increment())
+                    .subscribe(null, error -> {
+                    });
+        });
+
+        awaitCompletion(completed, sent);
+        MessageQueue queue = api.getMessageQueue();
+        while (queue != null && !queue.isIdle()) {
+            Thread.sleep(10);
+        }
+
+        phase.report(sent, latency);
+        System.out.printf("    mock received %d messages, %d reactions, %d webhooks%n",
+                server.getMessagesCreated(), server.getReactions(), server.getWebhooks());
+        if (queue != null) {
+            System.out.printf("    message queue: %d chat messages sent as %d messages%n", queue.getEnqueuedCount(), queue.getSentCount());
+        }
+    }
+
+    /**
+     * Dispatches command messages from the mock gateway at the configured rate and measures the time
+     * until the command is executed.
+     */
+    private void runInbound(MockDiscordServer server) throws InterruptedException {
+        OperationMetrics latency = new OperationMetrics("inbound");
+        LongAdder completed = new LongAdder();
+
+        CommandsManager.addCommand(new PingCommand(latency, completed));
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+
+        // Every executed command is logged, which would flood the report
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        Phase phase = startPhase("Inbound");
+        long sent = generate(i -> server.dispatchMessage(FIRST_CHANNEL_ID + i % channels, MockDiscordServer.PLAYER_ID + i % 100,
+                "!ping " + System.nanoTime()));
+
+        awaitCompletion(completed, sent);
+        System.setOut(out);
+
+        phase.report(sent, latency);
+        System.out.printf("    inbound dispatcher: %d processed, %d dropped, average listener time %.3f ms%n",
+                dispatcher.getProcessedCount(), dispatcher.getDroppedCount(), dispatcher.getAverageLatencyNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Calls the generator at the configured rate for the configured duration.
+     *
+     * @param generator action called with the index of the operation
+     * @return number of generated operations
+     */
+    private long generate(LongConsumer generator) throws InterruptedException {
+        long total = (long) rate * durationSeconds;
+        long start = System.nanoTime();
+        long index = 0;
+
+        while (index < total) {
+            long due = Math.min((System.nanoTime() - start) * rate / 1_000_000_000L, total);
+            while (index < due) {
+                generator.accept(index++);
+            }
+            Thread.sleep(1);
+        }
+
+        return total;
+    }
+
+    private void awaitCompletion(LongAdder completed, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (completed.sum() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Phase startPhase(String name) {
+        System.gc();
+        peakHeap.set(0);
+        return new Phase(name, System.nanoTime(), memory.getHeapMemoryUsage().getUsed());
+    }
+
+    /**
+     * A measured phase of the load test
+     */
+    private class Phase {
+        private final String name;
+        private final long start;
+        private final long heapBefore;
+
+        private Phase(String name, long start, long heapBefore) {
+            this.name = name;
+            this.start = start;
+            this.heapBefore = heapBefore;
+        }
+
+        private void report(long sent, OperationMetrics latency) {
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("[#] %s: %d sent, %d completed (%d failed) in %.1f s, %.0f ops/s, p50 %.2f ms, p99 %.2f ms%n",
+                    name, sent, latency.getCalls(), latency.getErrors(), seconds, latency.getCalls() / seconds,
+                    latency.getPercentile(0.5) / 1_000_000.0, latency.getPercentile(0.99) / 1_000_000.0);
+            System.out.printf("    heap: %.1f MB before, %.1f MB peak, %.1f MB after%n",
+                    heapBefore / 1048576.0, peakHeap.get() / 1048576.0, memory.getHeapMemoryUsage().getUsed() / 1048576.0);
+        }
+    }
+
+    /**
+     * Command measuring the time from the dispatch of the message, whose timestamp it carries, to its execution
+     */
+    private static class PingCommand extends Command {
+        private final OperationMetrics latency;
+        private final LongAdder completed;
+
+        private PingCommand(OperationMetrics latency, LongAdder completed) {
+            super("ping", "Load test command");
+            this.latency = latency;
+            this.completed = completed;
+        }
+
+        @Override
+        public boolean execute(MessageCreateEvent event, String[] args) {
+            latency.record(System.nanoTime() - Long.parseLong(args[0]), false);
+            completed.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,767 @@
+package com.brov3r.discordapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.websocket.WebsocketInbound;
+import reactor.netty.http.websocket.WebsocketOutbound;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+/**
+ * Local stand-in of the Discord REST API and gateway, so the plugin can be exercised without a bot token or network.
+ * <p>
+ * The REST API is served under {@code /api/v8} (the path used by Discord4J) and supports messages, reactions,
+ * webhooks, attachments, channel and user lookups, slash command registration and interaction replies. Every response carries rate limit headers, and requests over the per-route
+ * limit, plus a configurable fraction of random requests, are answered with 429.
+ * <p>
+ * The gateway speaks the zlib-stream JSON protocol: it sends HELLO, answers IDENTIFY with READY,
+ * acknowledges heartbeats and dispatches {@code MESSAGE_CREATE} events on demand.
+ */
+public class MockDiscordServer {
+    /**
+     * Token accepted by the server, its first part encodes the bot user ID as Discord tokens do
+     */
+    public static final String TOKEN = "MTAwMDAwMDAwMDAwMDAwMDAx.mock.token";
+    public static final long BOT_ID = 100000000000000001L;
+    public static final long GUILD_ID = 200000000000000001L;
+    public static final long PLAYER_ID = 400000000000000001L;
+
+    private static final String API_PREFIX = "/api/v8";
+    private static final long DISCORD_EPOCH = 1420070400000L;
+    private static final long HISTORY_INTERVAL_MILLIS = 3_600_000L;
+    private static final Pattern CHANNEL = Pattern.compile("/channels/(\\d+)");
+    private static final Pattern MESSAGES = Pattern.compile("/channels/(\\d+)/messages");
+    private static final Pattern MESSAGE = Pattern.compile("/channels/(\\d+)/messages/(\\d+)");
+    private static final Pattern BULK_DELETE = Pattern.compile("/channels/(\\d+)/messages/bulk-delete");
+    private static final Pattern REACTION = Pattern.compile("/channels/(\\d+)/messages/(\\d+)/reactions/([^/]+)/([^/]+)");
+    private static final Pattern APPLICATION_COMMANDS = Pattern.compile("/applications/(\\d+)(?:/guilds/(\\d+))?/commands");
+    private static final Pattern INTERACTION_CALLBACK = Pattern.compile("/interactions/(\\d+)/([^/]+)/callback");
+    private static final Pattern ORIGINAL_RESPONSE = Pattern.compile("/webhooks/(\\d+)/([^/]+)/messages/@original");
+    private static final Pattern USER = Pattern.compile("/users/(\\d+)");
+    private static final Pattern WEBHOOK = Pattern.compile("/webhooks/(\\d+)/([^/?]+)");
+    private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]*)\"");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong(300000000000000001L);
+    private final Set<GatewaySession> sessions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, ObjectNode> nonces = new ConcurrentHashMap<>();
+    private final Map<String, Long> authors = new ConcurrentHashMap<>();
+
+    private final int bucketLimit;
+    private final long bucketWindowMillis;
+    private final double randomRateLimitChance;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder messagesCreated = new LongAdder();
+    private final LongAdder messagesDeleted = new LongAdder();
+    private final LongAdder forbidden = new LongAdder();
+    private final LongAdder bulkDeletes = new LongAdder();
+    private final LongAdder reactions = new LongAdder();
+    private final LongAdder webhooks = new LongAdder();
+    private final LongAdder usersFetched = new LongAdder();
+    private final LongAdder commandRegistrations = new LongAdder();
+    private final LongAdder interactionCallbacks = new LongAdder();
+    private final Map<String, String> interactionReplies = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> attachments = new ConcurrentHashMap<>();
+    private final LongAdder attachmentsUploaded = new LongAdder();
+    private final LongAdder attachmentBytes = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+
+    private DisposableServer server;
+
+    /**
+     * Creates a token accepted by the server for another bot, e.g. an additional bot of the client pool.
+     * Messages posted with the token are authored by that bot.
+     *
+     * @param botId user ID of the bot
+     * @return bot token
+     */
+    public static String createToken(long botId) {
+        return Base64.getEncoder().withoutPadding().encodeToString(String.valueOf(botId).getBytes(StandardCharsets.US_ASCII))
+                + ".mock.token";
+    }
+
+    /**
+     * Constructs a new server.
+     *
+     * @param bucketLimit           number of requests allowed per route and channel within a window
+     * @param bucketWindowMillis    length of the rate limit window in milliseconds
+     * @param randomRateLimitChance fraction of requests answered with 429 regardless of the limit, e.g. 0.01
+     */
+    public MockDiscordServer(int bucketLimit, long bucketWindowMillis, double randomRateLimitChance) {
+        this.bucketLimit = bucketLimit;
+        this.bucketWindowMillis = bucketWindowMillis;
+        this.randomRateLimitChance = randomRateLimitChance;
+    }
+
+    /**
+     * Starts the server on a free local port.
+     *
+     * @return this server
+     */
+    public MockDiscordServer start() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(this::handle)
+                .bindNow();
+        return this;
+    }
+
+    /**
+     * Stops the server and closes the gateway connections.
+     */
+    public void stop() {
+        if (server != null) server.disposeNow();
+    }
+
+    /**
+     * Getting the base URL of the REST API, to be used as {@code apiBaseUrl}
+     *
+     * @return REST API base URL
+     */
+    public String getApiBaseUrl() {
+        return "http://127.0.0.1:" + server.port() + API_PREFIX;
+    }
+
+    /**
+     * Dispatches a {@code MESSAGE_CREATE} event to all identified gateway sessions.
+     *
+     * @param channelId ID of the channel the message was sent to
+     * @param authorId  ID of the message author
+     * @param content   content of the message
+     */
+    public void dispatchMessage(long channelId, long authorId, String content) {
+        ObjectNode message = createMessage(channelId, authorId, content);
+        message.put("guild_id", String.valueOf(GUILD_ID));
+
+        for (GatewaySession session : sessions) {
+            session.dispatch("MESSAGE_CREATE", message);
+            dispatched.increment();
+        }
+    }
+
+    /**
+     * Dispatches an {@code INTERACTION_CREATE} event of a slash command to all identified gateway sessions.
+     *
+     * @param channelId   ID of the channel the command was invoked in
+     * @param userId      ID of the user invoking the command
+     * @param commandName name of the slash command
+     * @param arguments   value of the {@code arguments} option or {@code null} if it is omitted
+     * @return token of the interaction, used to look up its reply
+     */
+    public String dispatchInteraction(long channelId, long userId, String commandName, String arguments) {
+        long id = ids.incrementAndGet();
+        String token = "interaction-" + id;
+
+        ObjectNode interaction = mapper.createObjectNode()
+                .put("id", String.valueOf(id))
+                .put("application_id", String.valueOf(BOT_ID))
+                .put("type", 2)
+                .put("channel_id", String.valueOf(channelId))
+                .put("token", token)
+                .put("version", 1);
+        interaction.set("user", createUser(userId, "Player" + userId % 1000));
+
+        ObjectNode data = interaction.putObject("data")
+                .put("id", String.valueOf(ids.incrementAndGet()))
+                .put("name", commandName)
+                .put("type", 1);
+        if (arguments != null) {
+            data.putArray("options").addObject().put("name", "arguments").put("type", 3).put("value", arguments);
+        }
+
+        for (GatewaySession session : sessions) {
+            session.dispatch("INTERACTION_CREATE", interaction);
+            dispatched.increment();
+        }
+        return token;
+    }
+
+    /**
+     * Getting the reply of an interaction
+     *
+     * @param token token of the interaction
+     * @return content of the reply, {@code "<deferred>"} if it was only acknowledged, or {@code null} if it was not answered
+     */
+    public String getInteractionReply(String token) {
+        return interactionReplies.get(token);
+    }
+
+    /**
+     * Getting the content of an uploaded attachment
+     *
+     * @param name file name of the attachment
+     * @return content of the last attachment uploaded with the name or {@code null} if there is none
+     */
+    public byte[] getAttachment(String name) {
+        return attachments.get(name);
+    }
+
+    /**
+     * Getting the number of identified gateway sessions
+     *
+     * @return number of gateway sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String path = request.fullPath();
+        QueryStringDecoder query = new QueryStringDecoder(request.uri());
+
+        if (path.equals("/gateway")) {
+            return response.sendWebsocket(this::handleGateway);
+        }
+
+        if (!path.startsWith(API_PREFIX)) return notFound(response);
+        String route = path.substring(API_PREFIX.length());
+
+        return request.receive().aggregate().asByteArray().defaultIfEmpty(new byte[0])
+                .map(body -> readBody(request.requestHeaders().get(HttpHeaderNames.CONTENT_TYPE), body))
+                .flatMap(body -> Mono.from(handleRest(request.method(), route, query.parameters(), body,
+                        getBotId(request.requestHeaders().get(HttpHeaderNames.AUTHORIZATION)), response)));
+    }
+
+    /**
+     * Getting the bot user ID of a request from the first part of its token, {@link #BOT_ID} if it has none
+     */
+    private static long getBotId(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bot ")) return BOT_ID;
+
+        try {
+            String token = authorization.substring(4);
+            int end = token.indexOf('.');
+            return Long.parseLong(new String(Base64.getDecoder().decode(end < 0 ? token : token.substring(0, end)), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            return BOT_ID;
+        }
+    }
+
+    /**
+     * Reads the JSON body of a request. For multipart requests, the attachments are recorded
+     * and the {@code payload_json} part is returned.
+     */
+    private String readBody(String contentType, byte[] body) {
+        if (contentType == null || !contentType.startsWith("multipart/form-data")) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        byte[] delimiter = ("\r\n--" + contentType.substring(contentType.indexOf("boundary=") + 9)).getBytes(StandardCharsets.US_ASCII);
+        byte[] headersEnd = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        String payload = "";
+
+        // The first delimiter is not preceded by a line break
+        int start = indexOf(body, Arrays.copyOfRange(delimiter, 2, delimiter.length), 0);
+        while (start >= 0) {
+            int partStart = start + delimiter.length - (start == 0 ? 2 : 0);
+            int contentStart = indexOf(body, headersEnd, partStart);
+            int end = indexOf(body, delimiter, partStart);
+            if (contentStart < 0 || end < 0) break;
+
+            String headers = new String(body, partStart, contentStart - partStart, StandardCharsets.UTF_8);
+            byte[] content = Arrays.copyOfRange(body, contentStart + headersEnd.length, end);
+
+            Matcher filename = FILENAME.matcher(headers);
+            if (filename.find()) {
+                attachments.put(filename.group(1), content);
+                attachmentsUploaded.increment();
+                attachmentBytes.add(content.length);
+            } else if (headers.contains("name=\"payload_json\"")) {
+                payload = new String(content, StandardCharsets.UTF_8);
+            }
+            start = end;
+        }
+        return payload;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private Publisher<Void> handleRest(HttpMethod method, String route, Map<String, List<String>> query, String body,
+                                       long botId, HttpServerResponse response) {
+        requests.increment();
+
+        if (route.equals("/gateway") || route.equals("/gateway/bot")) {
+            ObjectNode gateway = mapper.createObjectNode()
+                    .put("url", getApiBaseUrl().replace("http://", "ws://").replace(API_PREFIX, "/gateway"))
+                    .put("shards", 1);
+            gateway.putObject("session_start_limit")
+                    .put("total", 1000).put("remaining", 1000).put("reset_after", 0).put("max_concurrency", 1);
+            return json(response, HttpResponseStatus.OK, gateway);
+        }
+
+        if (route.equals("/users/@me")) {
+            return json(response, HttpResponseStatus.OK, createUser(BOT_ID, "MockBot"));
+        }
+
+        if (route.equals("/oauth2/applications/@me")) {
+            ObjectNode application = mapper.createObjectNode()
+                    .put("id", String.valueOf(BOT_ID))
+                    .put("name", "MockBot")
+                    .putNull("icon")
+                    .put("description", "")
+                    .put("bot_public", false)
+                    .put("bot_require_code_grant", false)
+                    .put("summary", "")
+                    .put("verify_key", "")
+                    .putNull("team");
+            application.set("owner", createUser(PLAYER_ID, "Owner"));
+            return json(response, HttpResponseStatus.OK, application);
+        }
+
+        Matcher matcher;
+        Bucket bucket = getBucket(method, route);
+        if (!bucket.tryAcquire() || ThreadLocalRandom.current().nextDouble() < randomRateLimitChance) {
+            return rateLimit(response, bucket);
+        }
+        bucket.writeHeaders(response);
+
+        if (REACTION.matcher(route).matches()) {
+            reactions.increment();
+            return empty(response);
+        }
+
+        if (BULK_DELETE.matcher(route).matches() && method == HttpMethod.POST) {
+            int count = readTree(body).path("messages").size();
+            if (count < 2 || count > 100) return badRequest(response);
+
+            bulkDeletes.increment();
+            messagesDeleted.add(count);
+            return empty(response);
+        }
+
+        if ((matcher = MESSAGE.matcher(route)).matches()) {
+            long channelId = Long.parseLong(matcher.group(1));
+
+            if (method == HttpMethod.DELETE) {
+                messagesDeleted.increment();
+                return empty(response);
+            }
+
+            // Like Discord, only the author of a message may edit it
+            long authorId = authors.getOrDefault(matcher.group(2), BOT_ID);
+            if (method == HttpMethod.PATCH && authorId != botId) {
+                forbidden.increment();
+                return json(response, HttpResponseStatus.FORBIDDEN, mapper.createObjectNode()
+                        .put("message", "Cannot edit a message authored by another user").put("code", 50005));
+            }
+
+            ObjectNode message = createMessage(channelId, authorId, readContent(body));
+            message.put("id", matcher.group(2));
+            message.put("edited_timestamp", Instant.now().toString());
+            return json(response, HttpResponseStatus.OK, message);
+        }
+
+        if ((matcher = MESSAGES.matcher(route)).matches() && method == HttpMethod.POST) {
+            long channelId = Long.parseLong(matcher.group(1));
+            JsonNode request = readTree(body);
+
+            // Like Discord, a message with an enforced nonce that was already used is not posted again
+            if (request.path("enforce_nonce").asBoolean() && request.hasNonNull("nonce")) {
+                ObjectNode message = nonces.computeIfAbsent(request.get("nonce").asText(), nonce -> {
+                    messagesCreated.increment();
+                    return createBotMessage(channelId, botId, readContent(body)).put("nonce", nonce);
+                });
+                return json(response, HttpResponseStatus.OK, message);
+            }
+
+            messagesCreated.increment();
+            return json(response, HttpResponseStatus.OK, createBotMessage(channelId, botId, readContent(body)));
+        }
+
+        if ((matcher = MESSAGES.matcher(route)).matches() && method == HttpMethod.GET) {
+            return json(response, HttpResponseStatus.OK, createHistory(Long.parseLong(matcher.group(1)),
+                    Long.parseLong(query.getOrDefault("before", List.of(String.valueOf(Long.MAX_VALUE))).get(0)),
+                    Integer.parseInt(query.getOrDefault("limit", List.of("50")).get(0))));
+        }
+
+        if ((matcher = CHANNEL.matcher(route)).matches() && method == HttpMethod.GET) {
+            ObjectNode channel = mapper.createObjectNode()
+                    .put("id", matcher.group(1))
+                    .put("type", 0)
+                    .put("guild_id", String.valueOf(GUILD_ID))
+                    .put("name", "channel-" + matcher.group(1))
+                    .put("position", 0);
+            channel.putArray("permission_overwrites");
+            return json(response, HttpResponseStatus.OK, channel);
+        }
+
+        if ((matcher = APPLICATION_COMMANDS.matcher(route)).matches() && method == HttpMethod.PUT) {
+            commandRegistrations.increment();
+
+            ArrayNode commands = mapper.createArrayNode();
+            for (JsonNode request : readTree(body)) {
+                ObjectNode command = ((ObjectNode) request.deepCopy())
+                        .put("id", String.valueOf(ids.incrementAndGet()))
+                        .put("version", String.valueOf(ids.incrementAndGet()))
+                        .put("application_id", matcher.group(1));
+                if (matcher.group(2) != null) command.put("guild_id", matcher.group(2));
+                commands.add(command);
+            }
+            return json(response, HttpResponseStatus.OK, commands);
+        }
+
+        if ((matcher = INTERACTION_CALLBACK.matcher(route)).matches() && method == HttpMethod.POST) {
+            interactionCallbacks.increment();
+            interactionReplies.put(matcher.group(2), readTree(body).path("type").asInt() == 5 ? "<deferred>" : readContent(body));
+            return empty(response);
+        }
+
+        if ((matcher = ORIGINAL_RESPONSE.matcher(route)).matches() && method == HttpMethod.PATCH) {
+            JsonNode request = readTree(body);
+            interactionReplies.put(matcher.group(2), request.path("embeds").size() > 0
+                    ? "embed: " + request.path("embeds").get(0).path("title").asText()
+                    : request.path("content").asText());
+            return json(response, HttpResponseStatus.OK, createMessage(0, BOT_ID, readContent(body)));
+        }
+
+        if ((matcher = USER.matcher(route)).matches() && method == HttpMethod.GET) {
+            usersFetched.increment();
+            return json(response, HttpResponseStatus.OK, createUser(Long.parseLong(matcher.group(1)), "Player" + matcher.group(1)));
+        }
+
+        if ((matcher = WEBHOOK.matcher(route)).matches() && method == HttpMethod.POST) {
+            webhooks.increment();
+
+            // With wait=true, Discord answers with the created message
+            if (Boolean.parseBoolean(query.getOrDefault("wait", List.of("false")).get(0))) {
+                return json(response, HttpResponseStatus.OK, createMessage(Long.parseLong(matcher.group(1)), BOT_ID, readContent(body)));
+            }
+            return empty(response);
+        }
+
+        return notFound(response);
+    }
+
+    private Publisher<Void> handleGateway(WebsocketInbound in, WebsocketOutbound out) {
+        GatewaySession session = new GatewaySession();
+
+        Mono<Void> inbound = in.aggregateFrames()
+                .receive()
+                .asString(StandardCharsets.UTF_8)
+                .doOnNext(payload -> session.handle(readTree(payload)))
+                .then()
+                .doFinally(signal -> sessions.remove(session));
+
+        session.send(0, null, mapper.createObjectNode().put("heartbeat_interval", 41250), 10);
+
+        return Mono.when(inbound, out.sendObject(session.frames()).then());
+    }
+
+    private Bucket getBucket(HttpMethod method, String route) {
+        String majorParameter = route.startsWith("/webhooks/") ? route.split("/")[2] : route.split("/").length > 2 ? route.split("/")[2] : "";
+        String key = method.name() + " " + route.replaceAll("\\d{5,}", "{id}") + " " + majorParameter;
+        return buckets.computeIfAbsent(key, Bucket::new);
+    }
+
+    /**
+     * Creates a page of the channel history, one message per hour before the given message ID, alternating
+     * between the bot and a player
+     */
+    private ArrayNode createHistory(long channelId, long before, int limit) {
+        ArrayNode history = mapper.createArrayNode();
+        long timestamp = Math.min(before >>> 22, System.currentTimeMillis() - DISCORD_EPOCH);
+
+        for (int i = 1; i <= limit; i++) {
+            long messageTimestamp = timestamp - i * HISTORY_INTERVAL_MILLIS;
+            if (messageTimestamp <= 0) break;
+
+            ObjectNode message = createMessage(channelId, i % 2 == 0 ? BOT_ID : PLAYER_ID, "History message");
+            message.put("id", String.valueOf(messageTimestamp << 22));
+            message.put("timestamp", Instant.ofEpochMilli(DISCORD_EPOCH + messageTimestamp).toString());
+            history.add(message);
+        }
+
+        return history;
+    }
+
+    /**
+     * Creates a message posted by a bot, remembering the authors other than the main bot
+     */
+    private ObjectNode createBotMessage(long channelId, long botId, String content) {
+        ObjectNode message = createMessage(channelId, botId, content);
+        if (botId != BOT_ID) authors.put(message.get("id").asText(), botId);
+        return message;
+    }
+
+    private ObjectNode createMessage(long channelId, long authorId, String content) {
+        ObjectNode message = mapper.createObjectNode()
+                .put("id", String.valueOf(ids.incrementAndGet()))
+                .put("channel_id", String.valueOf(channelId))
+                .put("content", content)
+                .put("timestamp", Instant.now().toString())
+                .putNull("edited_timestamp")
+                .put("tts", false)
+                .put("mention_everyone", false)
+                .put("pinned", false)
+                .put("type", 0);
+        message.set("author", createUser(authorId, authorId == BOT_ID ? "MockBot" : "Player" + authorId % 1000));
+        message.putArray("mentions");
+        message.putArray("mention_roles");
+        message.putArray("attachments");
+        message.putArray("embeds");
+        return message;
+    }
+
+    private ObjectNode createUser(long id, String name) {
+        return mapper.createObjectNode()
+                .put("id", String.valueOf(id))
+                .put("username", name)
+                .put("discriminator", "0000")
+                .putNull("avatar")
+                .put("bot", id == BOT_ID);
+    }
+
+    private String readContent(String body) {
+        if (body.isEmpty() || body.charAt(0) != '{') return "";
+        JsonNode content = readTree(body).get("content");
+        return content == null || content.isNull() ? "" : content.asText();
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return mapper.readTree(json);
+        } catch (IOException e) {
+            return mapper.createObjectNode();
+        }
+    }
+
+    private Publisher<Void> json(HttpServerResponse response, HttpResponseStatus status, JsonNode body) {
+        return response.status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just(body.toString()));
+    }
+
+    private Publisher<Void> empty(HttpServerResponse response) {
+        return response.status(HttpResponseStatus.NO_CONTENT).send();
+    }
+
+    private Publisher<Void> badRequest(HttpServerResponse response) {
+        return json(response, HttpResponseStatus.BAD_REQUEST, mapper.createObjectNode().put("message", "Invalid Form Body").put("code", 50035));
+    }
+
+    private Publisher<Void> notFound(HttpServerResponse response) {
+        return json(response, HttpResponseStatus.NOT_FOUND, mapper.createObjectNode().put("message", "404: Not Found").put("code", 0));
+    }
+
+    private Publisher<Void> rateLimit(HttpServerResponse response, Bucket bucket) {
+        rateLimited.increment();
+
+        double retryAfter = bucket.getResetAfterMillis() / 1000.0;
+        response.header("Retry-After", String.valueOf((long) Math.ceil(retryAfter)))
+                .header("X-RateLimit-Global", "false")
+                .header("X-RateLimit-Scope", "user");
+        bucket.writeHeaders(response);
+
+        return json(response, HttpResponseStatus.TOO_MANY_REQUESTS, mapper.createObjectNode()
+                .put("message", "You are being rate limited.")
+                .put("retry_after", retryAfter)
+                .put("global", false));
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long getMessagesCreated() {
+        return messagesCreated.sum();
+    }
+
+    public long getMessagesDeleted() {
+        return messagesDeleted.sum();
+    }
+
+    /**
+     * Getting the number of requests rejected with 403, e.g. edits of messages of another bot
+     *
+     * @return number of forbidden requests
+     */
+    public long getForbidden() {
+        return forbidden.sum();
+    }
+
+    public long getBulkDeletes() {
+        return bulkDeletes.sum();
+    }
+
+    public long getReactions() {
+        return reactions.sum();
+    }
+
+    public long getWebhooks() {
+        return webhooks.sum();
+    }
+
+    public long getCommandRegistrations() {
+        return commandRegistrations.sum();
+    }
+
+    public long getInteractionCallbacks() {
+        return interactionCallbacks.sum();
+    }
+
+    public long getAttachmentsUploaded() {
+        return attachmentsUploaded.sum();
+    }
+
+    public long getAttachmentBytes() {
+        return attachmentBytes.sum();
+    }
+
+    public long getUsersFetched() {
+        return usersFetched.sum();
+    }
+
+    public long getDispatched() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Fixed-window rate limit of one route and major parameter, reported to clients via {@code X-RateLimit-*} headers
+     */
+    private class Bucket {
+        private final String name;
+        private long windowStart = System.currentTimeMillis();
+        private int remaining = bucketLimit;
+
+        private Bucket(String name) {
+            this.name = Integer.toHexString(name.hashCode());
+        }
+
+        private synchronized boolean tryAcquire() {
+            long now = System.currentTimeMillis();
+            if (now - windowStart >= bucketWindowMillis) {
+                windowStart = now;
+                remaining = bucketLimit;
+            }
+
+            if (remaining == 0) return false;
+            remaining--;
+            return true;
+        }
+
+        private synchronized long getResetAfterMillis() {
+            return Math.max(bucketWindowMillis - (System.currentTimeMillis() - windowStart), 1);
+        }
+
+        private synchronized void writeHeaders(HttpServerResponse response) {
+            response.header("X-RateLimit-Limit", String.valueOf(bucketLimit))
+                    .header("X-RateLimit-Remaining", String.valueOf(remaining))
+                    .header("X-RateLimit-Reset-After", String.valueOf(getResetAfterMillis() / 1000.0))
+                    .header("X-RateLimit-Bucket", name);
+        }
+    }
+
+    /**
+     * Gateway connection of one client, sending zlib-stream compressed payloads
+     */
+    private class GatewaySession {
+        private final Sinks.Many<String> payloads = Sinks.many().unicast().onBackpressureBuffer();
+        private final Deflater deflater = new Deflater();
+        private final byte[] buffer = new byte[64 * 1024];
+        private long sequence;
+
+        private void handle(JsonNode payload) {
+            switch (payload.path("op").asInt(-1)) {
+                case 1 -> send(0, null, null, 11);
+                case 2 -> {
+                    ObjectNode ready = mapper.createObjectNode()
+                            .put("v", 8)
+                            .put("session_id", "mock-" + ids.incrementAndGet())
+                            .put("resume_gateway_url", getApiBaseUrl().replace("http://", "ws://").replace(API_PREFIX, "/gateway"));
+                    ready.set("user", createUser(BOT_ID, "MockBot"));
+                    ready.putArray("guilds");
+                    ArrayNode shard = ready.putArray("shard");
+                    shard.add(0).add(1);
+                    ready.putObject("application").put("id", String.valueOf(BOT_ID)).put("flags", 0);
+
+                    dispatch("READY", ready);
+                    sessions.add(this);
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void dispatch(String type, JsonNode data) {
+            synchronized (this) {
+                send(++sequence, type, data, 0);
+            }
+        }
+
+        private synchronized void send(long sequence, String type, JsonNode data, int op) {
+            ObjectNode payload = mapper.createObjectNode().put("op", op);
+            payload.set("d", data);
+            if (op == 0) payload.put("s", sequence).put("t", type);
+            else payload.putNull("s").putNull("t");
+
+            payloads.emitNext(payload.toString(), Sinks.EmitFailureHandler.FAIL_FAST);
+        }
+
+        private Flux<WebSocketFrame> frames() {
+            return payloads.asFlux().map(this::compress);
+        }
+
+        private WebSocketFrame compress(String payload) {
+            deflater.setInput(payload.getBytes(StandardCharsets.UTF_8));
+
+            byte[] compressed = new byte[0];
+            int length;
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                int offset = compressed.length;
+                compressed = Arrays.copyOf(compressed, offset + length);
+                System.arraycopy(buffer, 0, compressed, offset, length);
+            } while (length == buffer.length);
+
+            return new BinaryWebSocketFrame(Unpooled.wrappedBuffer(compressed));
+        }
+    }
+}
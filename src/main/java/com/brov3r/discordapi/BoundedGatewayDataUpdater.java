@@ -0,0 +1,340 @@
+package com.brov3r.discordapi;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import discord4j.common.store.api.StoreFlag;
+import discord4j.common.store.api.layout.GatewayDataUpdater;
+import discord4j.common.store.api.object.InvalidationCause;
+import discord4j.common.store.api.object.PresenceAndUserData;
+import discord4j.common.store.impl.LocalStoreLayout;
+import discord4j.common.store.impl.StorageBackend;
+import discord4j.discordjson.Id;
+import discord4j.discordjson.json.ChannelData;
+import discord4j.discordjson.json.EmojiData;
+import discord4j.discordjson.json.GuildCreateData;
+import discord4j.discordjson.json.GuildData;
+import discord4j.discordjson.json.GuildScheduledEventData;
+import discord4j.discordjson.json.ImmutableGuildCreateData;
+import discord4j.discordjson.json.MemberData;
+import discord4j.discordjson.json.MessageData;
+import discord4j.discordjson.json.RoleData;
+import discord4j.discordjson.json.StickerData;
+import discord4j.discordjson.json.UserData;
+import discord4j.discordjson.json.VoiceStateData;
+import discord4j.discordjson.json.gateway.ChannelCreate;
+import discord4j.discordjson.json.gateway.ChannelDelete;
+import discord4j.discordjson.json.gateway.ChannelUpdate;
+import discord4j.discordjson.json.gateway.GuildCreate;
+import discord4j.discordjson.json.gateway.GuildDelete;
+import discord4j.discordjson.json.gateway.GuildEmojisUpdate;
+import discord4j.discordjson.json.gateway.GuildMemberAdd;
+import discord4j.discordjson.json.gateway.GuildMemberRemove;
+import discord4j.discordjson.json.gateway.GuildMemberUpdate;
+import discord4j.discordjson.json.gateway.GuildMembersChunk;
+import discord4j.discordjson.json.gateway.GuildRoleCreate;
+import discord4j.discordjson.json.gateway.GuildRoleDelete;
+import discord4j.discordjson.json.gateway.GuildRoleUpdate;
+import discord4j.discordjson.json.gateway.GuildScheduledEventCreate;
+import discord4j.discordjson.json.gateway.GuildScheduledEventDelete;
+import discord4j.discordjson.json.gateway.GuildScheduledEventUpdate;
+import discord4j.discordjson.json.gateway.GuildScheduledEventUserAdd;
+import discord4j.discordjson.json.gateway.GuildScheduledEventUserRemove;
+import discord4j.discordjson.json.gateway.GuildStickersUpdate;
+import discord4j.discordjson.json.gateway.GuildUpdate;
+import discord4j.discordjson.json.gateway.MessageCreate;
+import discord4j.discordjson.json.gateway.MessageDelete;
+import discord4j.discordjson.json.gateway.MessageDeleteBulk;
+import discord4j.discordjson.json.gateway.MessageReactionAdd;
+import discord4j.discordjson.json.gateway.MessageReactionRemove;
+import discord4j.discordjson.json.gateway.MessageReactionRemoveAll;
+import discord4j.discordjson.json.gateway.MessageReactionRemoveEmoji;
+import discord4j.discordjson.json.gateway.MessageUpdate;
+import discord4j.discordjson.json.gateway.PresenceUpdate;
+import discord4j.discordjson.json.gateway.Ready;
+import discord4j.discordjson.json.gateway.UserUpdate;
+import discord4j.discordjson.json.gateway.VoiceStateUpdateDispatch;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gateway data updater of the {@link GatewayFactory.StoreMode#LRU} store, writing into a local store layout while
+ * keeping the number of cached members and presences bounded.
+ * <p>
+ * Members are tracked in a size-bounded map; when it evicts a member, the member is removed from the layout as if it
+ * had left the guild. Discord4J offers no way to remove a single presence, so presences of users not yet cached are
+ * skipped once the limit is reached. Members, presences and voice states of created guilds are only stored if their
+ * entity types are enabled: Discord4J stores them with the guild regardless of the enabled types, and on large guilds
+ * they take most of the memory.
+ */
+final class BoundedGatewayDataUpdater implements GatewayDataUpdater {
+    private final LocalStoreLayout delegate;
+    private final EnumSet<StoreFlag> types;
+    private final int maxPresences;
+    private final ConcurrentMap<MemberKey, Integer> members;
+
+    /**
+     * Constructs a new bounded gateway data updater.
+     *
+     * @param delegate     layout storing the data
+     * @param types        enabled entity types
+     * @param maxMembers   maximum number of cached members
+     * @param maxPresences maximum number of cached presences
+     */
+    BoundedGatewayDataUpdater(LocalStoreLayout delegate, EnumSet<StoreFlag> types, int maxMembers, int maxPresences) {
+        this.delegate = delegate;
+        this.types = types;
+        this.maxPresences = Math.max(maxPresences, 0);
+        this.members = StorageBackend.caffeine(caffeine -> caffeine.maximumSize(Math.max(maxMembers, 0)).executor(Runnable::run))
+                .newMap(this::onMemberEvicted);
+    }
+
+    @Override
+    public Mono<Void> onGuildCreate(int shardIndex, GuildCreate dispatch) {
+        GuildCreateData data = dispatch.guild();
+        return delegate.countPresences().flatMap(presences -> {
+            ImmutableGuildCreateData.Builder guild = ImmutableGuildCreateData.builder().from(data);
+            if (!types.contains(StoreFlag.MEMBER)) guild.members(Collections.emptyList());
+            if (!types.contains(StoreFlag.VOICE_STATE)) guild.voiceStates(Collections.emptyList());
+            guild.presences(types.contains(StoreFlag.PRESENCE)
+                    ? limit(data.presences(), maxPresences - presences)
+                    : Collections.emptyList());
+
+            GuildCreate filtered = GuildCreate.builder().from(dispatch).guild(guild.build()).build();
+            return delegate.onGuildCreate(shardIndex, filtered)
+                    .then(Mono.fromRunnable(() -> filtered.guild().members().forEach(member -> track(shardIndex, data.id(), member))));
+        });
+    }
+
+    @Override
+    public Mono<GuildData> onGuildDelete(int shardIndex, GuildDelete dispatch) {
+        long guildId = dispatch.guild().id().asLong();
+        return delegate.onGuildDelete(shardIndex, dispatch)
+                .doOnTerminate(() -> members.keySet().removeIf(key -> key.guildId == guildId));
+    }
+
+    @Override
+    public Mono<Void> onGuildMemberAdd(int shardIndex, GuildMemberAdd dispatch) {
+        return delegate.onGuildMemberAdd(shardIndex, dispatch)
+                .then(Mono.fromRunnable(() -> track(shardIndex, dispatch.guildId(), dispatch.member())));
+    }
+
+    @Override
+    public Mono<MemberData> onGuildMemberRemove(int shardIndex, GuildMemberRemove dispatch) {
+        members.remove(new MemberKey(dispatch.guildId().asLong(), dispatch.user().id().asLong()));
+        return delegate.onGuildMemberRemove(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onGuildMembersChunk(int shardIndex, GuildMembersChunk dispatch) {
+        return delegate.onGuildMembersChunk(shardIndex, dispatch)
+                .then(Mono.fromRunnable(() -> dispatch.members().forEach(member -> track(shardIndex, dispatch.guildId(), member))));
+    }
+
+    @Override
+    public Mono<MemberData> onGuildMemberUpdate(int shardIndex, GuildMemberUpdate dispatch) {
+        // Updates only change cached members, reading the key keeps a recently active member in the map
+        members.get(new MemberKey(dispatch.guildId().asLong(), dispatch.user().id().asLong()));
+        return delegate.onGuildMemberUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<PresenceAndUserData> onPresenceUpdate(int shardIndex, PresenceUpdate dispatch) {
+        long guildId = dispatch.guildId().asLong();
+        long userId = dispatch.user().id().asLong();
+        return delegate.countPresences()
+                .filterWhen(count -> count < maxPresences ? Mono.just(true) : delegate.getPresenceById(guildId, userId).hasElement())
+                .flatMap(count -> delegate.onPresenceUpdate(shardIndex, dispatch));
+    }
+
+    @Override
+    public Mono<Void> onChannelCreate(int shardIndex, ChannelCreate dispatch) {
+        return delegate.onChannelCreate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<ChannelData> onChannelDelete(int shardIndex, ChannelDelete dispatch) {
+        return delegate.onChannelDelete(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<ChannelData> onChannelUpdate(int shardIndex, ChannelUpdate dispatch) {
+        return delegate.onChannelUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Set<StickerData>> onGuildStickersUpdate(int shardIndex, GuildStickersUpdate dispatch) {
+        return delegate.onGuildStickersUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Set<EmojiData>> onGuildEmojisUpdate(int shardIndex, GuildEmojisUpdate dispatch) {
+        return delegate.onGuildEmojisUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onGuildRoleCreate(int shardIndex, GuildRoleCreate dispatch) {
+        return delegate.onGuildRoleCreate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<RoleData> onGuildRoleDelete(int shardIndex, GuildRoleDelete dispatch) {
+        return delegate.onGuildRoleDelete(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<RoleData> onGuildRoleUpdate(int shardIndex, GuildRoleUpdate dispatch) {
+        return delegate.onGuildRoleUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onGuildScheduledEventCreate(int shardIndex, GuildScheduledEventCreate dispatch) {
+        return delegate.onGuildScheduledEventCreate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<GuildScheduledEventData> onGuildScheduledEventUpdate(int shardIndex, GuildScheduledEventUpdate dispatch) {
+        return delegate.onGuildScheduledEventUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<GuildScheduledEventData> onGuildScheduledEventDelete(int shardIndex, GuildScheduledEventDelete dispatch) {
+        return delegate.onGuildScheduledEventDelete(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onGuildScheduledEventUserAdd(int shardIndex, GuildScheduledEventUserAdd dispatch) {
+        return delegate.onGuildScheduledEventUserAdd(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onGuildScheduledEventUserRemove(int shardIndex, GuildScheduledEventUserRemove dispatch) {
+        return delegate.onGuildScheduledEventUserRemove(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<GuildData> onGuildUpdate(int shardIndex, GuildUpdate dispatch) {
+        return delegate.onGuildUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onShardInvalidation(int shardIndex, InvalidationCause cause) {
+        return delegate.onShardInvalidation(shardIndex, cause);
+    }
+
+    @Override
+    public Mono<Void> onMessageCreate(int shardIndex, MessageCreate dispatch) {
+        return delegate.onMessageCreate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<MessageData> onMessageDelete(int shardIndex, MessageDelete dispatch) {
+        return delegate.onMessageDelete(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Set<MessageData>> onMessageDeleteBulk(int shardIndex, MessageDeleteBulk dispatch) {
+        return delegate.onMessageDeleteBulk(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onMessageReactionAdd(int shardIndex, MessageReactionAdd dispatch) {
+        return delegate.onMessageReactionAdd(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onMessageReactionRemove(int shardIndex, MessageReactionRemove dispatch) {
+        return delegate.onMessageReactionRemove(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onMessageReactionRemoveAll(int shardIndex, MessageReactionRemoveAll dispatch) {
+        return delegate.onMessageReactionRemoveAll(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onMessageReactionRemoveEmoji(int shardIndex, MessageReactionRemoveEmoji dispatch) {
+        return delegate.onMessageReactionRemoveEmoji(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<MessageData> onMessageUpdate(int shardIndex, MessageUpdate dispatch) {
+        return delegate.onMessageUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onReady(Ready dispatch) {
+        return delegate.onReady(dispatch);
+    }
+
+    @Override
+    public Mono<UserData> onUserUpdate(int shardIndex, UserUpdate dispatch) {
+        return delegate.onUserUpdate(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<VoiceStateData> onVoiceStateUpdateDispatch(int shardIndex, VoiceStateUpdateDispatch dispatch) {
+        return delegate.onVoiceStateUpdateDispatch(shardIndex, dispatch);
+    }
+
+    @Override
+    public Mono<Void> onGuildMembersCompletion(long guildId) {
+        return delegate.onGuildMembersCompletion(guildId);
+    }
+
+    /**
+     * Getting the first entities of a list that fit into the remaining room
+     */
+    private static <T> List<T> limit(List<T> list, long room) {
+        if (room <= 0) return Collections.emptyList();
+
+        return list.size() > room ? list.subList(0, (int) room) : list;
+    }
+
+    /**
+     * Records a stored member, possibly evicting the least recently used one.
+     */
+    private void track(int shardIndex, Id guildId, MemberData member) {
+        members.put(new MemberKey(guildId.asLong(), member.user().id().asLong()), shardIndex);
+    }
+
+    /**
+     * Removes a member evicted from the map from the layout, as if it had left the guild.
+     */
+    @SuppressWarnings("deprecation")
+    private void onMemberEvicted(MemberKey key, Integer shardIndex, RemovalCause cause) {
+        if (key == null || shardIndex == null || !cause.wasEvicted()) return;
+
+        GuildMemberRemove removal = GuildMemberRemove.builder()
+                .guildId(Id.of(key.guildId))
+                .user(UserData.builder().id(Id.of(key.userId)).username("").discriminator("0").build())
+                .build();
+        delegate.onGuildMemberRemove(shardIndex, removal).subscribe();
+    }
+
+    /**
+     * Key of a cached member: the guild and user IDs
+     */
+    private static final class MemberKey {
+        private final long guildId;
+        private final long userId;
+
+        private MemberKey(long guildId, long userId) {
+            this.guildId = guildId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MemberKey key && key.guildId == guildId && key.userId == userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(guildId * 31 + userId);
+        }
+    }
+}
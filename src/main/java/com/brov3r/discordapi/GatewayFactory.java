@@ -0,0 +1,224 @@
+package com.brov3r.discordapi;
+
+import discord4j.common.store.Store;
+import discord4j.common.store.api.StoreFlag;
+import discord4j.common.store.impl.LocalStoreLayout;
+import discord4j.common.store.impl.SelectiveStoreLayout;
+import discord4j.common.store.impl.StorageBackend;
+import discord4j.common.store.impl.StorageConfig;
+import discord4j.core.DiscordClient;
+import discord4j.core.shard.DefaultShardingStrategy;
+import discord4j.core.shard.GatewayBootstrap;
+import discord4j.core.shard.MemberRequestFilter;
+import discord4j.core.shard.ShardingStrategy;
+import discord4j.gateway.GatewayOptions;
+import discord4j.gateway.intent.Intent;
+import discord4j.gateway.intent.IntentSet;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Creates the gateway connection of the bot according to the plugin configuration.
+ */
+public final class GatewayFactory {
+    /**
+     * Strategy of caching Discord entities received from the gateway
+     */
+    public enum StoreMode {
+        /**
+         * Cache all entities (Discord4J default)
+         */
+        FULL,
+        /**
+         * Cache only the selected entity types and keep at most a fixed number of messages, members and presences
+         */
+        LRU,
+        /**
+         * Cache nothing, entities are fetched via REST when needed
+         */
+        NONE
+    }
+
+    /**
+     * Strategy of splitting the gateway connection into shards
+     */
+    public enum ShardingMode {
+        /**
+         * A single shard receiving events of all guilds
+         */
+        SINGLE,
+        /**
+         * A fixed number of shards
+         */
+        FIXED,
+        /**
+         * The number of shards recommended by Discord
+         */
+        RECOMMENDED
+    }
+
+    private GatewayFactory() {
+    }
+
+    /**
+     * Creates a gateway bootstrap for the client configured with intents and entity store from the plugin configuration.
+     *
+     * @param client bot client
+     * @return configured gateway bootstrap
+     */
+    public static GatewayBootstrap<GatewayOptions> createGateway(DiscordClient client) {
+        GatewayBootstrap<GatewayOptions> bootstrap = client.gateway();
+
+        IntentSet intents = parseIntents(Main.getConfig().getString("gateway.intents"));
+        if (intents != null) bootstrap.setEnabledIntents(intents);
+
+        bootstrap.setSharding(createSharding(
+                parseShardingMode(Main.getConfig().getString("sharding.mode")),
+                Main.getConfig().getInt("sharding.count"),
+                Main.getConfig().getInt("sharding.indexFrom"),
+                Main.getConfig().getInt("sharding.indexTo")));
+
+        StoreMode storeMode = parseStoreMode(Main.getConfig().getString("store.mode"));
+        if (storeMode != StoreMode.FULL) {
+            bootstrap.setStore(createStore(storeMode,
+                    Main.getConfig().getInt("store.maxMessages"),
+                    Main.getConfig().getInt("store.maxMembers"),
+                    Main.getConfig().getInt("store.maxPresences"),
+                    parseStoreFlags(Main.getConfig().getString("store.types"))));
+            bootstrap.setMemberRequestFilter(MemberRequestFilter.none());
+        }
+
+        return bootstrap;
+    }
+
+    /**
+     * Creates a sharding strategy. When several nodes share one bot, each node connects only
+     * the shards in its index range and receives events only of the guilds on those shards.
+     *
+     * @param mode      sharding mode
+     * @param count     number of shards in {@link ShardingMode#FIXED} mode
+     * @param indexFrom first shard index handled by this node, negative for all shards
+     * @param indexTo   last shard index handled by this node (inclusive), negative for all remaining shards
+     * @return sharding strategy
+     */
+    public static ShardingStrategy createSharding(ShardingMode mode, int count, int indexFrom, int indexTo) {
+        if (mode == ShardingMode.SINGLE) return ShardingStrategy.single();
+
+        DefaultShardingStrategy.Builder builder = ShardingStrategy.builder();
+        if (mode == ShardingMode.FIXED) builder.count(Math.max(count, 1));
+
+        if (indexFrom >= 0 || indexTo >= 0) {
+            int from = Math.max(indexFrom, 0);
+            int to = indexTo < 0 ? Integer.MAX_VALUE : indexTo;
+            builder.filter(shard -> shard.getIndex() >= from && shard.getIndex() <= to);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates an entity store for the specified mode.
+     *
+     * @param mode         store mode
+     * @param maxMessages  maximum number of cached messages in {@link StoreMode#LRU} mode
+     * @param maxMembers   maximum number of cached members in {@link StoreMode#LRU} mode
+     * @param maxPresences maximum number of cached presences in {@link StoreMode#LRU} mode
+     * @param types        entity types cached in {@link StoreMode#LRU} mode
+     * @return entity store or {@code null} for the Discord4J default store
+     */
+    public static Store createStore(StoreMode mode, int maxMessages, int maxMembers, int maxPresences, EnumSet<StoreFlag> types) {
+        return switch (mode) {
+            case FULL -> null;
+            case NONE -> Store.noOp();
+            case LRU -> {
+                StorageConfig storageConfig = StorageConfig.builder()
+                        .setMessageBackend(StorageBackend.caffeine(caffeine -> caffeine.maximumSize(Math.max(maxMessages, 0))))
+                        .build();
+                LocalStoreLayout layout = LocalStoreLayout.create(storageConfig);
+                yield Store.fromLayout(SelectiveStoreLayout.create(types, layout,
+                        new BoundedGatewayDataUpdater(layout, types, maxMembers, maxPresences)));
+            }
+        };
+    }
+
+    /**
+     * Parses a comma-separated list of gateway intents.
+     *
+     * @param value comma-separated intent names
+     * @return parsed intents or {@code null} if the list is empty
+     */
+    public static IntentSet parseIntents(String value) {
+        if (value == null || value.isBlank()) return null;
+
+        EnumSet<Intent> intents = EnumSet.noneOf(Intent.class);
+        for (String name : value.split(",")) {
+            if (name.isBlank()) continue;
+
+            try {
+                intents.add(Intent.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                System.out.printf("[!] Unknown Discord gateway intent '%s'!%n", name.trim());
+            }
+        }
+
+        return IntentSet.of(intents.toArray(new Intent[0]));
+    }
+
+    /**
+     * Parses a comma-separated list of entity types.
+     *
+     * @param value comma-separated entity type names
+     * @return parsed entity types
+     */
+    public static EnumSet<StoreFlag> parseStoreFlags(String value) {
+        EnumSet<StoreFlag> flags = EnumSet.noneOf(StoreFlag.class);
+        if (value == null) return flags;
+
+        for (String name : value.split(",")) {
+            if (name.isBlank()) continue;
+
+            try {
+                flags.add(StoreFlag.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                System.out.printf("[!] Unknown Discord entity type '%s'!%n", name.trim());
+            }
+        }
+
+        return flags;
+    }
+
+    /**
+     * Parses a sharding mode by name, ignoring case.
+     *
+     * @param value name of the sharding mode
+     * @return parsed sharding mode or {@link ShardingMode#SINGLE} if the name is unknown
+     */
+    public static ShardingMode parseShardingMode(String value) {
+        if (value == null || value.isBlank()) return ShardingMode.SINGLE;
+
+        try {
+            return ShardingMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.out.printf("[!] Unknown Discord sharding mode '%s'! Using SINGLE%n", value);
+            return ShardingMode.SINGLE;
+        }
+    }
+
+    /**
+     * Parses a store mode by name, ignoring case.
+     *
+     * @param value name of the store mode
+     * @return parsed store mode or {@link StoreMode#FULL} if the name is unknown
+     */
+    public static StoreMode parseStoreMode(String value) {
+        if (value == null || value.isBlank()) return StoreMode.FULL;
+
+        try {
+            return StoreMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.out.printf("[!] Unknown Discord store mode '%s'! Using FULL%n", value);
+            return StoreMode.FULL;
+        }
+    }
+}
@@ -4,28 +4,64 @@ import com.avrix.events.EventManager;
 import com.avrix.plugin.Metadata;
 import com.avrix.plugin.Plugin;
 import com.avrix.plugin.ServiceManager;
+import com.avrix.utils.YamlFile;
+import com.brov3r.discordapi.commands.CommandCooldowns;
 import com.brov3r.discordapi.commands.CommandsManager;
+import com.brov3r.discordapi.commands.Cooldown;
 import com.brov3r.discordapi.commands.HelpCommand;
+import com.brov3r.discordapi.commands.SlashCommandRegistry;
+import com.brov3r.discordapi.commands.StatsCommand;
+import com.brov3r.discordapi.events.DiscordEvents;
+import com.brov3r.discordapi.events.InboundDispatcher;
+import com.brov3r.discordapi.metrics.Metrics;
+import com.brov3r.discordapi.services.ClientPool;
 import com.brov3r.discordapi.services.DiscordAPI;
 import com.brov3r.discordapi.services.DiscordAPIImpl;
+import com.brov3r.discordapi.utils.LongIndex;
+import discord4j.common.util.Snowflake;
 import discord4j.core.DiscordClient;
+import discord4j.core.DiscordClientBuilder;
 import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.channel.NewsChannelDeleteEvent;
+import discord4j.core.event.domain.channel.NewsChannelUpdateEvent;
+import discord4j.core.event.domain.channel.PrivateChannelDeleteEvent;
+import discord4j.core.event.domain.channel.TextChannelDeleteEvent;
+import discord4j.core.event.domain.channel.TextChannelUpdateEvent;
+import discord4j.core.event.domain.channel.UnknownChannelDeleteEvent;
+import discord4j.core.event.domain.channel.UnknownChannelUpdateEvent;
+import discord4j.core.event.domain.channel.VoiceChannelDeleteEvent;
+import discord4j.core.event.domain.channel.VoiceChannelUpdateEvent;
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
 import discord4j.core.event.domain.lifecycle.ReadyEvent;
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.object.entity.User;
+import discord4j.rest.http.client.ClientException;
+import discord4j.rest.request.RouterOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Main entry point
  */
 public class Main extends Plugin {
     private static Main instance;
+    private static YamlFile config;
     private static GatewayDiscordClient gateway;
     private static DiscordClient client;
-    public static final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private static ClientPool clientPool;
+    private static DiscordAPIImpl discordAPI;
+    private static InboundDispatcher inboundDispatcher;
+    private static volatile Sinks.One<GatewayDiscordClient> ready = Sinks.one();
+    private static volatile boolean online;
+    private static volatile boolean shuttingDown;
 
     /**
      * Constructs a new {@link Plugin} with the specified metadata.
@@ -48,60 +84,264 @@ public class Main extends Plugin {
         loadDefaultConfig();
 
         EventManager.addListener(new ServerShutdownHandler());
-        
+
+        start(getDefaultConfig());
+        ServiceManager.register(DiscordAPI.class, discordAPI);
+    }
+
+    /**
+     * Sets up the commands, the inbound dispatcher and the Discord API with a configuration and launches the bot.
+     * Called on plugin initialization, and by the load test to run the plugin against a local stand-in of Discord.
+     *
+     * @param pluginConfig configuration of the plugin
+     */
+    public static void start(YamlFile pluginConfig) {
+        config = pluginConfig;
+
+        CommandsManager.setCommandPrefix(config.getString("commandPrefix"));
+        CommandsManager.setAsyncLimits(config.getInt("asyncCommands.maxConcurrent"),
+                Duration.ofSeconds(config.getInt("asyncCommands.timeout")));
+        CommandCooldowns.configure(getCooldown("user"), getCooldown("channel"), getCooldown("command"),
+                Duration.ofSeconds(config.getInt("cooldowns.noticeInterval")));
         CommandsManager.addCommand(new HelpCommand());
+        CommandsManager.addCommand(new StatsCommand());
 
-        ServiceManager.register(DiscordAPI.class, new DiscordAPIImpl());
+        DiscordEvents.setAllowedChannels(LongIndex.parseIds(config.getString("events.allowedChannels")));
+        DiscordEvents.setEventManagerListeners(config.getBoolean("events.eventManagerListeners"));
 
-        executorService.submit(() -> loadBot(getDefaultConfig().getString("botToken")));
+        long[] slashCommandGuild = LongIndex.parseIds(config.getString("slashCommands.guildId"));
+        SlashCommandRegistry.configure(config.getBoolean("slashCommands.enabled"),
+                slashCommandGuild.length == 0 ? 0 : slashCommandGuild[0],
+                Paths.get(config.getString("slashCommands.hashFile")));
+
+        int inboundWorkers = config.getInt("inbound.workers");
+        inboundDispatcher = new InboundDispatcher(
+                inboundWorkers > 0 ? inboundWorkers : Runtime.getRuntime().availableProcessors(),
+                config.getInt("inbound.queueCapacity"),
+                InboundDispatcher.OverflowPolicy.of(config.getString("inbound.overflowPolicy")));
+
+        discordAPI = new DiscordAPIImpl(config);
+
+        Metrics.registerMBean();
+
+        loadBot(config.getString("botToken"));
     }
 
     /**
-     * Launching a discord bot
+     * Launching a discord bot. The login runs in the background and is retried with an increasing delay,
+     * so the server does not wait for Discord to finish booting.
      *
      * @param token bot token
      */
-    @SuppressWarnings("deprecation")
     private static void loadBot(String token) {
         if (token == null || token.isEmpty() || token.equalsIgnoreCase("...")) {
             System.out.println("[!] Failed to load Discord API! Discord token is invalid or missing!");
+            ready.tryEmitError(new IllegalStateException("Discord token is invalid or missing"));
             return;
         }
 
-        try {
-            client = DiscordClient.create(token);
-            gateway = client.login().block();
+        client = createClient(token);
+        clientPool = new ClientPool(client,
+                createAdditionalClients(config.getString("additionalBotTokens")),
+                ClientPool.Strategy.of(config.getString("clientPoolStrategy")));
+
+        login();
+    }
+
+    /**
+     * Connects the bot to the gateway, retrying failed attempts with exponential backoff.
+     * Invalid tokens are not retried.
+     */
+    private static void login() {
+        int maxAttempts = config.getInt("reconnect.maxAttempts");
+        Duration minBackoff = Duration.ofSeconds(Math.max(config.getInt("reconnect.minBackoff"), 1));
+        Duration maxBackoff = Duration.ofSeconds(Math.max(config.getInt("reconnect.maxBackoff"), 1));
+
+        GatewayFactory.createGateway(client).login()
+                .retryWhen(Retry.backoff(maxAttempts > 0 ? maxAttempts - 1 : Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .filter(error -> !shuttingDown && !ClientException.isStatusCode(401).test(error))
+                        .doBeforeRetry(signal -> System.out.printf("[!] Failed to connect to Discord (%s), retrying (attempt %d)%n",
+                                signal.failure().getMessage(), signal.totalRetries() + 2)))
+                .subscribe(Main::onLogin, error -> {
+                    System.out.println("[!] Failed to authorize the bot! Check the token! " + error.getMessage());
+                    ready.tryEmitError(error);
+                });
+    }
+
+    /**
+     * Registers the event handlers of a connected gateway and marks the API as ready.
+     *
+     * @param connected connected gateway
+     */
+    @SuppressWarnings("deprecation")
+    private static void onLogin(GatewayDiscordClient connected) {
+        gateway = connected;
+
+        gateway.getEventDispatcher().on(ReadyEvent.class).subscribe(event -> {
+            User self = event.getSelf();
+            System.out.printf("[#] Discord Bot Logged in as %s#%s (shard %d of %d)%n", self.getUsername(), self.getDiscriminator(),
+                    event.getShardInfo().getIndex(), event.getShardInfo().getCount());
+        });
+
+        Flux.merge(
+                gateway.on(TextChannelDeleteEvent.class).map(event -> event.getChannel().getId()),
+                gateway.on(NewsChannelDeleteEvent.class).map(event -> event.getChannel().getId()),
+                gateway.on(VoiceChannelDeleteEvent.class).map(event -> event.getChannel().getId()),
+                gateway.on(UnknownChannelDeleteEvent.class).map(event -> event.getChannel().getId()),
+                gateway.on(PrivateChannelDeleteEvent.class).map(event -> event.getChannel().getId()),
+                gateway.on(TextChannelUpdateEvent.class).map(event -> event.getCurrent().getId()),
+                gateway.on(NewsChannelUpdateEvent.class).map(event -> event.getCurrent().getId()),
+                gateway.on(VoiceChannelUpdateEvent.class).map(event -> event.getCurrent().getId()),
+                gateway.on(UnknownChannelUpdateEvent.class).map(event -> event.getCurrent().getId())
+        ).subscribe(channelId -> discordAPI.getChannelCache().invalidate(channelId));
 
-            if (gateway == null) {
-                System.out.println("[!] Failed to authorize the bot! Check the token!");
+        gateway.on(MessageCreateEvent.class).subscribe(event -> {
+            Optional<User> author = event.getMessage().getAuthor();
+
+            if (author.isEmpty() || author.get().getId().asString().equalsIgnoreCase(gateway.getSelfId().asString()))
                 return;
-            }
 
-            gateway.getEventDispatcher().on(ReadyEvent.class).subscribe(event -> {
-                User self = event.getSelf();
-                System.out.printf("[#] Discord Bot Logged in as %s#%s%n", self.getUsername(), self.getDiscriminator());
+            String content = event.getMessage().getContent();
+            if (content.isEmpty()) return;
+
+            long channelId = event.getMessage().getChannelId().asLong();
+            long guildId = event.getGuildId().map(Snowflake::asLong).orElse(0L);
+            if (!DiscordEvents.accept(channelId, guildId, content, CommandsManager.getCommandPrefix())) return;
+
+            inboundDispatcher.dispatch(channelId, () -> {
+                DiscordEvents.dispatchMessage(event);
+
+                CommandsManager.executeCommand(event);
             });
+        });
 
-            gateway.on(MessageCreateEvent.class).subscribe(event -> {
-                Optional<User> author = event.getMessage().getAuthor();
+        if (SlashCommandRegistry.isEnabled()) {
+            gateway.on(ChatInputInteractionEvent.class)
+                    .filter(event -> DiscordEvents.isAllowed(event.getInteraction().getChannelId().asLong()))
+                    .subscribe(CommandsManager::executeSlashCommand);
+            SlashCommandRegistry.scheduleSync();
+        }
 
-                if (author.isEmpty() || author.get().getId().asString().equalsIgnoreCase(gateway.getSelfId().asString()))
-                    return;
+        gateway.onDisconnect().subscribe(null, null, () -> {
+            // Requests wait for the next connection again
+            online = false;
+            ready = Sinks.one();
+            if (shuttingDown) return;
 
-                if (event.getMessage().getContent().isEmpty()) return;
+            System.out.println("[!] Discord gateway disconnected, reconnecting...");
+            login();
+        });
 
-                EventManager.invokeEvent("onDiscordMessage", event);
+        online = true;
+        ready.tryEmitValue(gateway);
+        discordAPI.flushPending();
+    }
 
-                String messageContent = event.getMessage().getContent();
-                if (!messageContent.isEmpty()
-                        && messageContent.startsWith(Main.getInstance().getDefaultConfig().getString("commandPrefix"))) {
-                    CommandsManager.executeCommand(event);
-                }
-            });
+    /**
+     * Creates a bot client whose HTTP requests are counted by the metrics
+     *
+     * @param token bot token
+     * @return bot client
+     */
+    private static DiscordClient createClient(String token) {
+        return createClient(token, config.getString("apiBaseUrl"));
+    }
+
+    /**
+     * Creates a bot client whose HTTP requests are counted by the metrics
+     *
+     * @param token      bot token
+     * @param apiBaseUrl base URL of the Discord REST API, empty for the official API
+     * @return bot client
+     */
+    public static DiscordClient createClient(String token, String apiBaseUrl) {
+        return DiscordClientBuilder.create(token)
+                .setReactorResources(Metrics.createReactorResources())
+                .setExtraOptions(options -> withApiBaseUrl(options, apiBaseUrl))
+                .build();
+    }
+
+    /**
+     * Points REST requests at another base URL, e.g. a local stand-in of Discord used for load tests.
+     * The gateway URL is requested from the REST API, so the gateway connection follows the base URL as well.
+     *
+     * @param options    options of the REST client
+     * @param apiBaseUrl base URL of the Discord REST API, empty for the official API
+     * @return options with the base URL applied
+     */
+    public static RouterOptions withApiBaseUrl(RouterOptions options, String apiBaseUrl) {
+        if (apiBaseUrl == null || apiBaseUrl.isBlank()) return options;
+
+        return new RouterOptions(options.getAuthorizationScheme(), options.getToken(), options.getReactorResources(),
+                options.getExchangeStrategies(), options.getResponseTransformers(), options.getGlobalRateLimiter(),
+                options.getRequestQueueFactory(), apiBaseUrl.trim());
+    }
 
-            gateway.onDisconnect().block();
-        } catch (Exception e) {
-            System.out.println("[!] An error occurred in the Discord API: " + e.getMessage());
+    /**
+     * Creates clients of the additional bots used to spread outbound requests
+     *
+     * @param tokens comma-separated tokens of the additional bots
+     * @return clients of the additional bots
+     */
+    private static List<DiscordClient> createAdditionalClients(String tokens) {
+        List<DiscordClient> clients = new ArrayList<>();
+        if (tokens == null) return clients;
+
+        for (String token : tokens.split(",")) {
+            if (!token.isBlank()) clients.add(createClient(token.trim()));
+        }
+
+        if (!clients.isEmpty()) {
+            System.out.printf("[#] Discord API outbound requests are spread across %d bots%n", clients.size() + 1);
+        }
+
+        return clients;
+    }
+
+    /**
+     * Reads a command invocation limit from the {@code cooldowns} section of the config
+     *
+     * @param name name of the limit, e.g. {@code user}
+     * @return the limit
+     */
+    private static Cooldown getCooldown(String name) {
+        return Cooldown.of(config.getInt("cooldowns." + name),
+                Duration.ofSeconds(config.getInt("cooldowns." + name + "Period")));
+    }
+
+    /**
+     * Getting a signal of the bot readiness
+     *
+     * @return a Mono emitting the gateway once the bot is connected, right away if it is connected now,
+     * or an error if the bot could not be authorized
+     */
+    public static Mono<GatewayDiscordClient> whenReady() {
+        return Mono.defer(() -> ready.asMono());
+    }
+
+    /**
+     * Checks whether the bot is connected. Cleared when the gateway disconnects, until the bot reconnects.
+     *
+     * @return {@code true} if the bot is connected
+     */
+    public static boolean isReady() {
+        return online;
+    }
+
+    /**
+     * Waits for queued messages to be sent, stops reconnecting the bot and logs it out
+     */
+    public static void shutdown() {
+        shuttingDown = true;
+
+        // Give queued messages a chance to be sent, unsent recorded messages are replayed on the next startup
+        if (discordAPI != null) {
+            discordAPI.close(Duration.ofSeconds(config.getInt("journal.shutdownTimeout")));
+        }
+
+        if (gateway != null) {
+            gateway.logout().block(Duration.ofSeconds(10));
         }
     }
 
@@ -123,6 +363,42 @@ public class Main extends Plugin {
         return client;
     }
 
+    /**
+     * Getting the pool of bot clients used for outbound requests
+     *
+     * @return client pool, the primary client is the one returned by {@link #getClient()}
+     */
+    public static ClientPool getClientPool() {
+        return clientPool;
+    }
+
+    /**
+     * Getting the Discord API implementation
+     *
+     * @return Discord API implementation
+     */
+    public static DiscordAPIImpl getDiscordAPI() {
+        return discordAPI;
+    }
+
+    /**
+     * Getting the dispatcher of inbound Discord events
+     *
+     * @return inbound event dispatcher
+     */
+    public static InboundDispatcher getInboundDispatcher() {
+        return inboundDispatcher;
+    }
+
+    /**
+     * Getting the configuration the plugin was started with
+     *
+     * @return plugin configuration
+     */
+    public static YamlFile getConfig() {
+        return config;
+    }
+
     /**
      * Getting a plugin instance
      *
@@ -139,6 +415,6 @@ public class Main extends Plugin {
      * @return text translation
      */
     public static String getTranslation(String key) {
-        return instance.getDefaultConfig().getString(key);
+        return config.getString(key);
     }
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package com.brov3r.discordapi;
 
 import com.avrix.events.OnServerShutdownEvent;
-
-import java.util.concurrent.TimeUnit;
+import com.brov3r.discordapi.commands.CommandsManager;
+import com.brov3r.discordapi.metrics.Metrics;
 
 /**
  * Handles server shutdown events to ensure proper cleanup of resources.
@@ -10,27 +10,22 @@ import java.util.concurrent.TimeUnit;
 public class ServerShutdownHandler extends OnServerShutdownEvent {
 
     /**
-     * Handles the server shutdown event, ensuring that the Discord bot logs out and that the executor service is properly shut down.
+     * Handles the server shutdown event, ensuring that the Discord bot logs out and its resources are released.
      */
     @Override
     public void handleEvent() {
         // Log out the Discord bot if it's still active
-        if (Main.getGateway() != null) {
-            Main.getGateway().logout().block();
-        }
+        Main.shutdown();
 
-        // Shutdown the executor service
-        Main.executorService.shutdown();
-        try {
-            if (!Main.executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                Main.executorService.shutdownNow();
-                if (!Main.executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                    System.err.println("[!] Executor service did not terminate");
-                }
-            }
-        } catch (InterruptedException ie) {
-            Main.executorService.shutdownNow();
-            Thread.currentThread().interrupt();
+        // Stop handling inbound events
+        if (Main.getInboundDispatcher() != null) {
+            Main.getInboundDispatcher().shutdown();
         }
+
+        // Stop the asynchronous command pool
+        CommandsManager.shutdown();
+
+        // Remove the metrics from JMX
+        Metrics.unregisterMBean();
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.brov3r.discordapi.commands;
+
+import discord4j.core.event.domain.message.MessageCreateEvent;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Represents a command executed asynchronously, off the Discord event thread.
+ * Subclasses should implement the {@link #executeAsync(MessageCreateEvent, String[])} method to define command behavior.
+ * <p>
+ * Asynchronous commands run on a bounded command pool, are limited by the global concurrency cap
+ * and fail with a negative reaction if they do not complete within their timeout.
+ */
+public abstract class AsyncCommand extends Command {
+    /**
+     * Constructs a new AsyncCommand with a specified name and description.
+     *
+     * @param name        The name of the command.
+     * @param description The description of the command.
+     */
+    public AsyncCommand(String name, String description) {
+        super(name, description);
+    }
+
+    /**
+     * Constructs a new AsyncCommand with a specified name, description and aliases.
+     *
+     * @param name        The name of the command.
+     * @param description The description of the command.
+     * @param aliases     Alternative names the command can be called with.
+     */
+    public AsyncCommand(String name, String description, String... aliases) {
+        super(name, description, aliases);
+    }
+
+    /**
+     * Executes the command asynchronously with the given arguments.
+     * The method itself is called on the command pool, so it may also block.
+     *
+     * @param event The MessageCreateEvent triggering the command execution.
+     * @param args  The arguments passed to the command.
+     * @return a Mono emitting {@code true} if the command execution was successful, {@code false} otherwise.
+     */
+    public abstract Mono<Boolean> executeAsync(MessageCreateEvent event, String[] args);
+
+    /**
+     * Returns the maximum execution time of the command.
+     *
+     * @return execution timeout or {@code null} to use the default timeout from the configuration.
+     */
+    public Duration getTimeout() {
+        return null;
+    }
+
+    /**
+     * Executes the command with the given arguments, blocking until it completes.
+     *
+     * @param event The MessageCreateEvent triggering the command execution.
+     * @param args  The arguments passed to the command.
+     * @return {@code true} if the command execution was successful, {@code false} otherwise.
+     */
+    @Override
+    public boolean execute(MessageCreateEvent event, String[] args) {
+        return Boolean.TRUE.equals(executeAsync(event, args).block());
+    }
+}
@@ -1,15 +1,22 @@
 package com.brov3r.discordapi.commands;
 
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
 import discord4j.core.event.domain.message.MessageCreateEvent;
+import discord4j.core.spec.InteractionReplyEditSpec;
+import reactor.core.publisher.Mono;
 
 /**
  * Represents an abstract command class for Discord4J commands.
  * Subclasses should implement the {@link #execute(MessageCreateEvent, String[])} method to define command behavior.
+ * <p>
+ * Commands overriding {@link #isSlashCommand()} and {@link #executeSlash(ChatInputInteractionEvent, String[])}
+ * are also registered as slash commands.
  */
 public abstract class Command {
 
     private final String name;
     private final String description;
+    private final String[] aliases;
 
     /**
      * Constructs a new Command with a specified name and description.
@@ -18,8 +25,20 @@ public abstract class Command {
      * @param description The description of the command.
      */
     public Command(String name, String description) {
+        this(name, description, new String[0]);
+    }
+
+    /**
+     * Constructs a new Command with a specified name, description and aliases.
+     *
+     * @param name        The name of the command.
+     * @param description The description of the command.
+     * @param aliases     Alternative names the command can be called with.
+     */
+    public Command(String name, String description, String... aliases) {
         this.name = name;
         this.description = description;
+        this.aliases = aliases;
     }
 
     /**
@@ -31,6 +50,37 @@ public abstract class Command {
      */
     public abstract boolean execute(MessageCreateEvent event, String[] args);
 
+    /**
+     * Returns whether the command is also registered as a slash command.
+     *
+     * @return {@code true} if the command can be invoked as a slash command.
+     */
+    public boolean isSlashCommand() {
+        return false;
+    }
+
+    /**
+     * Executes the command invoked as a slash command, on the command pool.
+     * The interaction is acknowledged before the command runs, and the returned reply replaces the
+     * "thinking" placeholder, so the command is not limited by the 3 seconds Discord waits for an answer.
+     *
+     * @param event The ChatInputInteractionEvent triggering the command execution.
+     * @param args  The arguments passed to the command, split the same way as for a text command.
+     * @return a Mono emitting the reply, or empty to reply with a success mark.
+     */
+    public Mono<InteractionReplyEditSpec> executeSlash(ChatInputInteractionEvent event, String[] args) {
+        return Mono.error(new UnsupportedOperationException("Command '" + name + "' is not a slash command"));
+    }
+
+    /**
+     * Returns the limit of invocations of the command by one user.
+     *
+     * @return invocation limit, {@link Cooldown#NONE} for no limit, or {@code null} to use the default limit from the configuration.
+     */
+    public Cooldown getCooldown() {
+        return null;
+    }
+
     /**
      * Returns the name of the command.
      *
@@ -48,4 +98,13 @@ public abstract class Command {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Returns the aliases of the command.
+     *
+     * @return Alternative names the command can be called with.
+     */
+    public String[] getAliases() {
+        return aliases.clone();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.brov3r.discordapi.commands;
+
+import com.brov3r.discordapi.utils.TokenBuckets;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limiting of command invocations per user, per channel and per command and user.
+ * <p>
+ * Invocations are checked against the bucket of the command and user first, then of the user and then of the channel,
+ * before the command arguments are parsed. An invocation rejected by one of the buckets gives its tokens back to the
+ * buckets checked before, so a throttled command does not use up the limits of the other commands of the user.
+ * Commands may define their own limit by overriding {@link Command#getCooldown()}.
+ */
+public class CommandCooldowns {
+    private static volatile TokenBuckets userBuckets;
+    private static volatile TokenBuckets channelBuckets;
+    private static volatile TokenBuckets noticeBuckets;
+    private static volatile Cooldown commandCooldown = Cooldown.NONE;
+    private static final Map<Command, TokenBuckets> commandBuckets = new ConcurrentHashMap<>();
+
+    private static final LongAdder throttledCount = new LongAdder();
+
+    /**
+     * Sets the limits of command invocations.
+     *
+     * @param userCooldown    limit of invocations of all commands by a user
+     * @param channelCooldown limit of invocations of all commands in a channel
+     * @param defaultCooldown limit of invocations of a command by a user, unless the command defines its own
+     * @param noticeInterval  minimum time between two notices to a user about rejected invocations,
+     *                        zero - no notices
+     */
+    public static void configure(Cooldown userCooldown, Cooldown channelCooldown, Cooldown defaultCooldown, Duration noticeInterval) {
+        userBuckets = createBuckets(userCooldown);
+        channelBuckets = createBuckets(channelCooldown);
+        noticeBuckets = createBuckets(Cooldown.of(1, noticeInterval));
+        commandCooldown = defaultCooldown;
+        commandBuckets.clear();
+    }
+
+    /**
+     * Takes an invocation from the limits of a command.
+     *
+     * @param command   the invoked command
+     * @param userId    ID of the invoking user
+     * @param channelId ID of the channel the command was invoked in
+     * @return {@code true} if the command may run, {@code false} if it is throttled
+     */
+    public static boolean tryAcquire(Command command, long userId, long channelId) {
+        TokenBuckets commandLimit = getBuckets(command);
+        TokenBuckets userLimit = userBuckets;
+        TokenBuckets channelLimit = channelBuckets;
+
+        boolean acquired = false;
+        if (commandLimit == null || commandLimit.tryAcquire(userId) == 0) {
+            if (userLimit == null || userLimit.tryAcquire(userId) == 0) {
+                if (channelLimit == null || channelLimit.tryAcquire(channelId) == 0) {
+                    acquired = true;
+                } else if (userLimit != null) {
+                    userLimit.refund(userId);
+                }
+            }
+            if (!acquired && commandLimit != null) commandLimit.refund(userId);
+        }
+
+        if (!acquired) throttledCount.increment();
+        return acquired;
+    }
+
+    /**
+     * Checks whether a user who was throttled should be notified about it.
+     * A user is notified at most once per notice interval, so notices do not add to the spam.
+     *
+     * @param userId ID of the user
+     * @return {@code true} if the user should be notified
+     */
+    public static boolean isNoticeDue(long userId) {
+        TokenBuckets notices = noticeBuckets;
+        return notices != null && notices.tryAcquire(userId) == 0;
+    }
+
+    /**
+     * Drops the limits of a removed command.
+     *
+     * @param command the command
+     */
+    public static void remove(Command command) {
+        commandBuckets.remove(command);
+    }
+
+    /**
+     * Getting the number of command invocations rejected because of their limits
+     *
+     * @return number of throttled invocations
+     */
+    public static long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    private static TokenBuckets getBuckets(Command command) {
+        TokenBuckets buckets = commandBuckets.get(command);
+        if (buckets != null) return buckets;
+
+        Cooldown cooldown = command.getCooldown() != null ? command.getCooldown() : commandCooldown;
+        if (!cooldown.isLimited()) return null;
+
+        return commandBuckets.computeIfAbsent(command, key -> createBuckets(cooldown));
+    }
+
+    private static TokenBuckets createBuckets(Cooldown cooldown) {
+        return cooldown.isLimited() ? new TokenBuckets(cooldown.getUses(), cooldown.getPeriod()) : null;
+    }
+}
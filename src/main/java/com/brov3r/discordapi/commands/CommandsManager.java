@@ -1,27 +1,106 @@
 package com.brov3r.discordapi.commands;
 
-import com.avrix.events.EventManager;
-import com.brov3r.discordapi.Main;
+import com.brov3r.discordapi.events.DiscordEvents;
+import com.brov3r.discordapi.metrics.Metrics;
+import com.brov3r.discordapi.metrics.OperationMetrics;
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
 import discord4j.core.event.domain.message.MessageCreateEvent;
+import discord4j.core.object.command.ApplicationCommandInteractionOption;
 import discord4j.core.object.reaction.ReactionEmoji;
+import discord4j.core.spec.InteractionReplyEditSpec;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manager class to handle Discord commands and their execution.
+ * <p>
+ * Commands are indexed once by their lower-cased names and aliases, so lookups are case-insensitive
+ * and registration from other plugins is safe at any time. Messages that do not start with the command
+ * prefix are rejected before anything is allocated.
  */
 public class CommandsManager {
-    private static final Map<String, Command> commandMap = new HashMap<>();
+    private static final String[] NO_ARGS = new String[0];
+
+    private static final Map<String, Command> commandMap = new ConcurrentHashMap<>();
+    private static final Map<String, Command> commandIndex = new ConcurrentHashMap<>();
+    private static volatile String commandPrefix = "!";
+
+    private static volatile Scheduler asyncScheduler = Schedulers.newBoundedElastic(8, 8, "discord-commands");
+    private static volatile Semaphore asyncPermits = new Semaphore(8);
+    private static volatile Duration asyncTimeout = Duration.ofSeconds(30);
+
+    private static final LongAdder executedCount = new LongAdder();
+    private static final LongAdder ignoredCount = new LongAdder();
 
     /**
-     * Getting a registry of registered commands
+     * Getting a registry of registered commands.
+     * <p>
+     * Breaking change: the registry is read-only, as commands are also indexed by their aliases. Use
+     * {@link #addCommand} and {@link #removeCommand} to change it, and {@link #getCommand} to look up a command
+     * by its name or alias ignoring case.
      *
-     * @return command registry
+     * @return read-only command registry keyed by command names as they were registered
      */
     public static Map<String, Command> getCommandMap() {
-        return commandMap;
+        return Collections.unmodifiableMap(commandMap);
+    }
+
+    /**
+     * Getting the prefix of bot commands
+     *
+     * @return command prefix
+     */
+    public static String getCommandPrefix() {
+        return commandPrefix;
+    }
+
+    /**
+     * Sets the prefix of bot commands
+     *
+     * @param prefix command prefix
+     */
+    public static void setCommandPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            System.out.println("[!] Discord command prefix is empty! Using the default prefix '!'");
+            prefix = "!";
+        }
+
+        commandPrefix = prefix;
+    }
+
+    /**
+     * Sets the limits of asynchronous command execution.
+     *
+     * @param maxConcurrent  maximum number of asynchronous commands running at the same time
+     * @param defaultTimeout timeout of asynchronous commands that do not define their own
+     */
+    public static void setAsyncLimits(int maxConcurrent, Duration defaultTimeout) {
+        int limit = Math.max(maxConcurrent, 1);
+        Scheduler previous = asyncScheduler;
+
+        asyncScheduler = Schedulers.newBoundedElastic(limit, limit, "discord-commands");
+        asyncPermits = new Semaphore(limit);
+        asyncTimeout = defaultTimeout;
+
+        previous.dispose();
+    }
+
+    /**
+     * Stops the asynchronous command pool.
+     */
+    public static void shutdown() {
+        asyncScheduler.dispose();
     }
 
     /**
@@ -30,36 +109,223 @@ public class CommandsManager {
      * @param command The Command object representing the command.
      */
     public static void addCommand(Command command) {
-        if (commandMap.containsKey(command.getName())) {
+        String name = command.getName().toLowerCase(Locale.ROOT);
+
+        if (commandIndex.putIfAbsent(name, command) != null) {
             System.out.printf("[!] Failed adding Discord command! Command '%s' already exists!%n", command.getName());
             return;
         }
-
         commandMap.put(command.getName(), command);
+
+        for (String alias : command.getAliases()) {
+            String aliasName = alias.toLowerCase(Locale.ROOT);
+
+            if (commandIndex.putIfAbsent(aliasName, command) != null) {
+                System.out.printf("[!] Failed adding alias '%s' of Discord command '%s'! Name is already taken!%n",
+                        alias, command.getName());
+            }
+        }
+
         System.out.printf("[#] Added new Discord command: '%s'%n", command.getName());
+
+        if (command.isSlashCommand()) SlashCommandRegistry.scheduleSync();
+    }
+
+    /**
+     * Removes a command and its aliases from the command map.
+     *
+     * @param name The name of the command.
+     */
+    public static void removeCommand(String name) {
+        Command command = commandIndex.get(name.toLowerCase(Locale.ROOT));
+        if (command == null || !command.getName().equalsIgnoreCase(name)) return;
+
+        commandMap.remove(command.getName());
+        commandIndex.values().removeIf(indexed -> indexed == command);
+        CommandCooldowns.remove(command);
+
+        System.out.printf("[#] Removed Discord command: '%s'%n", command.getName());
+
+        if (command.isSlashCommand()) SlashCommandRegistry.scheduleSync();
     }
 
     /**
      * Executes a command based on its name and arguments.
      * Adds a reaction to the message indicating whether the command was executed successfully.
+     * Invocations over the limits of {@link CommandCooldowns} are rejected before the arguments are parsed.
      *
      * @param event The MessageCreateEvent triggering the command execution.
      */
     public static void executeCommand(MessageCreateEvent event) {
-        String[] args = com.avrix.commands.CommandsManager.getCommandArgs(
-                Main.getInstance().getDefaultConfig().getString("commandPrefix"),
-                event.getMessage().getContent()
-        );
+        String content = event.getMessage().getContent();
+        String prefix = commandPrefix;
+
+        int nameEnd = getCommandNameEnd(prefix, content);
+        if (nameEnd < 0) {
+            ignoredCount.increment();
+            return;
+        }
+
+        Command command = getCommand(content.substring(prefix.length(), nameEnd));
+        if (command == null) {
+            ignoredCount.increment();
+            return;
+        }
+
+        long userId = event.getMessage().getAuthor().map(author -> author.getId().asLong()).orElse(0L);
+        if (!CommandCooldowns.tryAcquire(command, userId, event.getMessage().getChannelId().asLong())) {
+            if (CommandCooldowns.isNoticeDue(userId)) {
+                event.getMessage().addReaction(ReactionEmoji.unicode("\u23F3")).subscribe();
+            }
+            return;
+        }
+
+        String[] commandArgs = getCommandArgs(content, nameEnd);
+
+        if (command instanceof AsyncCommand asyncCommand) {
+            executeAsyncCommand(event, asyncCommand, commandArgs);
+            return;
+        }
+
+        OperationMetrics metrics = Metrics.command(command.getName());
+        long start = System.nanoTime();
+        boolean isExecuted;
+
+        try {
+            isExecuted = command.execute(event, commandArgs);
+        } catch (RuntimeException e) {
+            metrics.record(System.nanoTime() - start, true);
+            throw e;
+        }
+
+        metrics.record(System.nanoTime() - start, false);
+        onCommandExecuted(event, command, commandArgs, isExecuted);
+    }
+
+    /**
+     * Executes an asynchronous command on the command pool and reports the result once it completes.
+     * Commands exceeding the concurrency cap are rejected immediately.
+     *
+     * @param event       The MessageCreateEvent triggering the command execution.
+     * @param command     The command to execute.
+     * @param commandArgs The arguments passed to the command.
+     */
+    private static void executeAsyncCommand(MessageCreateEvent event, AsyncCommand command, String[] commandArgs) {
+        Semaphore permits = asyncPermits;
+
+        if (!permits.tryAcquire()) {
+            System.out.printf("[!] Too many Discord commands are running! Command '%s' was rejected%n", command.getName());
+            onCommandExecuted(event, command, commandArgs, false);
+            return;
+        }
+
+        Duration timeout = command.getTimeout() != null ? command.getTimeout() : asyncTimeout;
+        OperationMetrics metrics = Metrics.command(command.getName());
+
+        runAsync(Mono.defer(() -> command.executeAsync(event, commandArgs)), permits, timeout)
+                .defaultIfEmpty(false)
+                .transform(metrics::time)
+                .onErrorResume(throwable -> {
+                    System.out.printf("[!] Discord command '%s' failed: %s%n", command.getName(), throwable.getMessage());
+                    return Mono.just(false);
+                })
+                .subscribe(isExecuted -> onCommandExecuted(event, command, commandArgs, isExecuted));
+    }
+
+    /**
+     * Runs a command task on the command pool, holding a permit until the task has finished.
+     * The result times out after the timeout, but the task itself is not cancelled: its thread may still be blocked
+     * in the command, so its permit is only released once it really completes and the cap on running commands holds
+     * even when commands time out.
+     *
+     * @param task    the command task
+     * @param permits permits of the command pool, one of which was acquired for the task
+     * @param timeout maximum time to wait for the result
+     * @param <T>     type of the result
+     * @return a Mono emitting the result of the task or a timeout error
+     */
+    private static <T> Mono<T> runAsync(Mono<T> task, Semaphore permits, Duration timeout) {
+        Sinks.One<T> result = Sinks.one();
+
+        task.subscribeOn(asyncScheduler)
+                .doFinally(signal -> permits.release())
+                .subscribe(result::tryEmitValue, result::tryEmitError, result::tryEmitEmpty);
+
+        return result.asMono().timeout(timeout);
+    }
 
-        if (args.length < 1) return;
+    /**
+     * Executes a command invoked as a slash command on the command pool.
+     * The interaction is acknowledged right away and the reply is edited in once the command completes,
+     * so commands are limited by their timeout rather than by the 3 seconds Discord waits for an answer.
+     * Throttled invocations are answered with a notice only the invoking user sees.
+     *
+     * @param event The ChatInputInteractionEvent triggering the command execution.
+     */
+    public static void executeSlashCommand(ChatInputInteractionEvent event) {
+        Command command = getCommand(event.getCommandName());
+        if (command == null || !command.isSlashCommand()) {
+            ignoredCount.increment();
+            event.reply("\u274C").withEphemeral(true).subscribe();
+            return;
+        }
 
-        String commandName = args[0];
-        String[] commandArgs = Arrays.copyOfRange(args, 1, args.length);
+        if (!CommandCooldowns.tryAcquire(command, event.getInteraction().getUser().getId().asLong(),
+                event.getInteraction().getChannelId().asLong())) {
+            event.reply("\u23F3").withEphemeral(true).subscribe();
+            return;
+        }
 
-        if (!commandMap.containsKey(commandName)) return;
+        String[] commandArgs = event.getOption(SlashCommandRegistry.ARGUMENTS_OPTION)
+                .flatMap(ApplicationCommandInteractionOption::getValue)
+                .map(value -> getCommandArgs(value.asString(), 0))
+                .orElse(NO_ARGS);
 
-        boolean isExecuted = commandMap.get(commandName).execute(event, commandArgs);
+        Semaphore permits = asyncPermits;
+        if (!permits.tryAcquire()) {
+            System.out.printf("[!] Too many Discord commands are running! Command '%s' was rejected%n", command.getName());
+            event.reply("\u274C").withEphemeral(true).subscribe();
+            return;
+        }
+
+        Duration timeout = command instanceof AsyncCommand asyncCommand && asyncCommand.getTimeout() != null
+                ? asyncCommand.getTimeout() : asyncTimeout;
+        OperationMetrics metrics = Metrics.command(command.getName());
+
+        event.deferReply()
+                .onErrorResume(throwable -> {
+                    permits.release();
+                    return Mono.error(throwable);
+                })
+                .then(Mono.defer(() -> runAsync(Mono.defer(() -> command.executeSlash(event, commandArgs)), permits, timeout))
+                        .transform(metrics::time))
+                .defaultIfEmpty(InteractionReplyEditSpec.builder().contentOrNull("\u2705").build())
+                .onErrorResume(throwable -> {
+                    System.out.printf("[!] Discord command '%s' failed: %s%n", command.getName(), throwable.getMessage());
+                    return Mono.just(InteractionReplyEditSpec.builder().contentOrNull("\u274C").build());
+                })
+                .flatMap(event::editReply)
+                .subscribe(message -> {
+                    executedCount.increment();
+                    System.out.printf("[#] User '%s' executed Discord slash command '%s' with arguments: %s%n",
+                            event.getInteraction().getUser().getGlobalName().orElse("Unknown User"), command.getName(),
+                            Arrays.toString(commandArgs));
+                }, throwable -> System.out.printf("[!] Failed to reply to Discord slash command '%s': %s%n",
+                        command.getName(), throwable.getMessage()));
+    }
+
+    /**
+     * Adds a reaction to the message indicating whether the command was executed successfully
+     * and notifies the {@code onDiscordCommand} listeners.
+     *
+     * @param event       The MessageCreateEvent triggering the command execution.
+     * @param command     The executed command.
+     * @param commandArgs The arguments passed to the command.
+     * @param isExecuted  Whether the command execution was successful.
+     */
+    private static void onCommandExecuted(MessageCreateEvent event, Command command, String[] commandArgs, boolean isExecuted) {
         String reactionUnicode = isExecuted ? "\u2705" : "\u274C";
+        executedCount.increment();
 
         event.getMessage().addReaction(ReactionEmoji.unicode(reactionUnicode)).subscribe();
 
@@ -70,8 +336,140 @@ public class CommandsManager {
         String argsString = Arrays.toString(commandArgs);
 
         System.out.printf("[#] User '%s' executed Discord command '%s' with arguments: %s%n",
-                userName, commandName, argsString);
+                userName, command.getName(), argsString);
+
+        DiscordEvents.dispatchCommand(command.getName(), commandArgs, event);
+    }
 
-        EventManager.invokeEvent("onDiscordCommand", commandName, commandArgs, event);
+    /**
+     * Finds the command addressed by a message.
+     *
+     * @param content The content of the message.
+     * @return the addressed command or {@code null} if the message is not a registered command.
+     */
+    public static Command findCommand(String content) {
+        String prefix = commandPrefix;
+
+        int nameEnd = getCommandNameEnd(prefix, content);
+        if (nameEnd < 0) return null;
+
+        return getCommand(content.substring(prefix.length(), nameEnd));
+    }
+
+    /**
+     * Splits the arguments of a command message, the same way they are passed to {@link Command#execute}.
+     *
+     * @param content The content of the message.
+     * @return command arguments or an empty array if the message is not a command.
+     */
+    public static String[] getCommandArgs(String content) {
+        int nameEnd = getCommandNameEnd(commandPrefix, content);
+        return nameEnd < 0 ? NO_ARGS : getCommandArgs(content, nameEnd);
+    }
+
+    /**
+     * Getting a command by its name or alias, ignoring case.
+     *
+     * @param name The name or alias of the command.
+     * @return the command or {@code null} if there is no such command.
+     */
+    public static Command getCommand(String name) {
+        return commandIndex.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Finds the end of the command name in a message.
+     *
+     * @param prefix  The command prefix.
+     * @param content The content of the message.
+     * @return index after the last character of the command name or {@code -1} if the message is not a command.
+     */
+    private static int getCommandNameEnd(String prefix, String content) {
+        if (content == null || !content.startsWith(prefix)) return -1;
+
+        int start = prefix.length();
+        int length = content.length();
+        if (start >= length || Character.isWhitespace(content.charAt(start))) return -1;
+
+        int end = start + 1;
+        while (end < length && !Character.isWhitespace(content.charAt(end))) end++;
+
+        return end;
+    }
+
+    /**
+     * Splits the arguments following the command name by whitespace.
+     * Arguments enclosed in double quotes may contain whitespace.
+     *
+     * @param content The content of the message.
+     * @param from    Index after the command name.
+     * @return command arguments.
+     */
+    private static String[] getCommandArgs(String content, int from) {
+        int count = 0;
+        for (int i = skipWhitespace(content, from); i < content.length(); i = skipWhitespace(content, getTokenEnd(content, i) + 1)) {
+            count++;
+        }
+
+        if (count == 0) return NO_ARGS;
+
+        String[] args = new String[count];
+        int index = 0;
+        for (int i = skipWhitespace(content, from); i < content.length(); ) {
+            int end = getTokenEnd(content, i);
+            args[index++] = content.charAt(i) == '"' ? content.substring(i + 1, end) : content.substring(i, end);
+            i = skipWhitespace(content, end + 1);
+        }
+
+        return args;
+    }
+
+    /**
+     * Finds the end of an argument starting at the specified index.
+     *
+     * @param content The content of the message.
+     * @param start   Index of the first character of the argument.
+     * @return index after the last character of the argument (the closing quote for quoted arguments).
+     */
+    private static int getTokenEnd(String content, int start) {
+        if (content.charAt(start) == '"') {
+            int closingQuote = content.indexOf('"', start + 1);
+            return closingQuote < 0 ? content.length() : closingQuote;
+        }
+
+        int end = start + 1;
+        while (end < content.length() && !Character.isWhitespace(content.charAt(end))) end++;
+
+        return end;
+    }
+
+    /**
+     * Skips whitespace starting at the specified index.
+     *
+     * @param content The content of the message.
+     * @param index   Index to start from.
+     * @return index of the first non-whitespace character or the length of the content.
+     */
+    private static int skipWhitespace(String content, int index) {
+        while (index < content.length() && Character.isWhitespace(content.charAt(index))) index++;
+        return index;
+    }
+
+    /**
+     * Getting the number of executed commands
+     *
+     * @return number of executed commands
+     */
+    public static long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    /**
+     * Getting the number of messages rejected as not addressing a registered command
+     *
+     * @return number of ignored messages
+     */
+    public static long getIgnoredCount() {
+        return ignoredCount.sum();
     }
-}
\ No newline at end of file
+}
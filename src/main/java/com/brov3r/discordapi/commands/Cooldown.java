@@ -0,0 +1,64 @@
+package com.brov3r.discordapi.commands;
+
+import java.time.Duration;
+
+/**
+ * Limit of command invocations: at most a number of uses in a period, refilled evenly over the period.
+ */
+public final class Cooldown {
+    /**
+     * No limit
+     */
+    public static final Cooldown NONE = new Cooldown(0, Duration.ZERO);
+
+    private final int uses;
+    private final Duration period;
+
+    private Cooldown(int uses, Duration period) {
+        this.uses = uses;
+        this.period = period;
+    }
+
+    /**
+     * Creates a limit of command invocations.
+     *
+     * @param uses   maximum number of invocations in the period, {@code 0} - unlimited
+     * @param period the period
+     * @return the limit
+     */
+    public static Cooldown of(int uses, Duration period) {
+        return uses <= 0 || period.isZero() || period.isNegative() ? NONE : new Cooldown(uses, period);
+    }
+
+    /**
+     * Returns the maximum number of invocations in the period.
+     *
+     * @return number of invocations, {@code 0} if unlimited
+     */
+    public int getUses() {
+        return uses;
+    }
+
+    /**
+     * Returns the period in which the invocations are counted.
+     *
+     * @return the period
+     */
+    public Duration getPeriod() {
+        return period;
+    }
+
+    /**
+     * Checks whether invocations are limited.
+     *
+     * @return {@code false} for {@link #NONE}
+     */
+    public boolean isLimited() {
+        return uses > 0;
+    }
+
+    @Override
+    public String toString() {
+        return isLimited() ? uses + " per " + period.toSeconds() + "s" : "unlimited";
+    }
+}
@@ -1,18 +1,22 @@
 package com.brov3r.discordapi.commands;
 
 import com.brov3r.discordapi.Main;
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.core.spec.InteractionReplyEditSpec;
 import discord4j.rest.util.Color;
+import reactor.core.publisher.Mono;
 
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Implementation of the help command. Displays a message about available commands.
  */
 public class HelpCommand extends Command {
-    private final Color successColor = Color.LIGHT_SEA_GREEN;
-    private final Color failColor = Color.RED;
+    private static final Color SUCCESS_COLOR = Color.LIGHT_SEA_GREEN;
+    private static final Color FAIL_COLOR = Color.RED;
 
     /**
      * Constructs a new Command with a specified name and description.
@@ -30,16 +34,50 @@ public class HelpCommand extends Command {
      */
     @Override
     public boolean execute(MessageCreateEvent event, String[] args) {
-        Map<String, Command> commandMap = CommandsManager.getCommandMap();
-        String commandPrefix = Main.getInstance().getDefaultConfig().getString("commandPrefix");
-
-        EmbedCreateSpec embedSpec = args.length == 0 ? getAllCommands(commandMap, commandPrefix) : getHelpCommand(commandMap, commandPrefix, args[0].toLowerCase());
+        EmbedCreateSpec embedSpec = getEmbed(args);
 
         event.getMessage().getChannel()
                 .flatMap(channel -> channel.createMessage(embedSpec).withMessageReference(event.getMessage().getId()))
                 .subscribe();
 
-        return embedSpec.color().get() == successColor;
+        return embedSpec.color().get() == SUCCESS_COLOR;
+    }
+
+    /**
+     * The help command is also available as a slash command.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isSlashCommand() {
+        return true;
+    }
+
+    /**
+     * Executes the command invoked as a slash command.
+     *
+     * @param event The ChatInputInteractionEvent triggering the command execution.
+     * @param args  The arguments passed to the command.
+     * @return a Mono emitting the reply with the help embed.
+     */
+    @Override
+    public Mono<InteractionReplyEditSpec> executeSlash(ChatInputInteractionEvent event, String[] args) {
+        return Mono.just(InteractionReplyEditSpec.builder().addEmbed(getEmbed(args)).build());
+    }
+
+    /**
+     * Generates the help embed for the given arguments.
+     *
+     * @param args The arguments passed to the command.
+     * @return the list of all commands or the details of the command named by the first argument.
+     */
+    private EmbedCreateSpec getEmbed(String[] args) {
+        String commandPrefix = CommandsManager.getCommandPrefix();
+
+        return args.length == 0
+                ? getAllCommands(CommandsManager.getCommandMap(), commandPrefix, Main.getTranslation("translation.help.embedTitle"),
+                Main.getTranslation("translation.help.contentTitle"))
+                : getHelpCommand(commandPrefix, args[0].toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -47,43 +85,43 @@ public class HelpCommand extends Command {
      *
      * @param commandMap    The map containing all commands.
      * @param commandPrefix The prefix used before each command name.
+     * @param embedTitle    The title of the embed.
+     * @param contentTitle  The line displayed before the list of commands.
      * @return An EmbedCreateSpec that lists all commands.
      */
-    private EmbedCreateSpec getAllCommands(Map<String, Command> commandMap, String commandPrefix) {
-        StringBuilder commandListBuilder = new StringBuilder();
-        commandListBuilder.append(Main.getTranslation("translation.help.contentTitle")).append("\n");
+    public static EmbedCreateSpec getAllCommands(Map<String, Command> commandMap, String commandPrefix, String embedTitle, String contentTitle) {
+        StringBuilder commandListBuilder = new StringBuilder(contentTitle.length() + 1 + commandMap.size() * 24);
+        commandListBuilder.append(contentTitle).append('\n');
 
-        commandMap.values().forEach(command -> {
-            String commandName = String.format("**%s%s**", commandPrefix, command.getName());
-            commandListBuilder.append(commandName).append(", ");
-        });
+        for (Command command : commandMap.values()) {
+            commandListBuilder.append("**").append(commandPrefix).append(command.getName()).append("**, ");
+        }
 
-        if (!commandListBuilder.isEmpty()) {
+        if (!commandMap.isEmpty()) {
             commandListBuilder.setLength(commandListBuilder.length() - 2);
         }
 
         return EmbedCreateSpec.builder()
-                .title(Main.getTranslation("translation.help.embedTitle"))
+                .title(embedTitle)
                 .description(commandListBuilder.toString())
-                .color(successColor)
+                .color(SUCCESS_COLOR)
                 .build();
     }
 
     /**
      * Generates an EmbedCreateSpec containing detailed information about a specific command.
      *
-     * @param commandMap    The map containing all commands.
      * @param commandPrefix The prefix used before the command name.
-     * @param command       The name of the command to display details for.
+     * @param command       The lower-cased name or alias of the command to display details for.
      * @return An EmbedCreateSpec that shows the details of the specified command or a message indicating that the command was not found.
      */
-    private EmbedCreateSpec getHelpCommand(Map<String, Command> commandMap, String commandPrefix, String command) {
+    private EmbedCreateSpec getHelpCommand(String commandPrefix, String command) {
         StringBuilder commandListBuilder = new StringBuilder();
-        boolean commandExists = commandMap.containsKey(command);
+        Command cmd = CommandsManager.getCommand(command);
+        boolean commandExists = cmd != null;
 
         if (commandExists) {
-            Command cmd = commandMap.get(command);
-            commandListBuilder.append(String.format("**%s%s** - %s", commandPrefix, command, cmd.getDescription()));
+            commandListBuilder.append(String.format("**%s%s** - %s", commandPrefix, cmd.getName(), cmd.getDescription()));
         } else {
             commandListBuilder.append(Main.getTranslation("translation.help.commandNotFoundText")
                     .replace("<COMMAND>", String.format("%s%s", commandPrefix, command)));
@@ -92,7 +130,7 @@ public class HelpCommand extends Command {
         return EmbedCreateSpec.builder()
                 .title(commandExists ? Main.getTranslation("translation.help.embedTitle") : Main.getTranslation("translation.help.commandNotFoundTitle"))
                 .description(commandListBuilder.toString())
-                .color(commandExists ? successColor : failColor)
+                .color(commandExists ? SUCCESS_COLOR : FAIL_COLOR)
                 .build();
     }
 }
\ No newline at end of file
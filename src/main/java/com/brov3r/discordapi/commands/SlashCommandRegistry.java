@@ -0,0 +1,189 @@
+package com.brov3r.discordapi.commands;
+
+import com.brov3r.discordapi.Main;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import discord4j.common.JacksonResources;
+import discord4j.core.object.command.ApplicationCommandOption;
+import discord4j.discordjson.json.ApplicationCommandOptionData;
+import discord4j.discordjson.json.ApplicationCommandRequest;
+import discord4j.rest.RestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Registration of slash commands with Discord.
+ * <p>
+ * The full set of slash commands is built from the registered commands and hashed together with the application
+ * and guild it is registered for. The set is only sent to Discord, by a single bulk overwrite, when the hash differs
+ * from the one stored after the last successful registration, so restarts without command changes make no requests.
+ * Changes of the command set are batched by a short delay, as plugins usually add their commands one after another.
+ */
+public class SlashCommandRegistry {
+    /**
+     * Name of the optional string option carrying the arguments of a slash command
+     */
+    public static final String ARGUMENTS_OPTION = "arguments";
+
+    private static final Pattern NAME = Pattern.compile("[-_\\p{L}\\p{N}]{1,32}");
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+    private static final Duration SYNC_DELAY = Duration.ofSeconds(2);
+
+    private static final ObjectMapper mapper = JacksonResources.create().getObjectMapper();
+
+    private static volatile boolean enabled;
+    private static volatile long guildId;
+    private static volatile Path hashFile;
+    private static Disposable pendingSync;
+
+    /**
+     * Sets up the registration of slash commands.
+     *
+     * @param enable        whether slash commands are registered and handled
+     * @param targetGuildId ID of the guild the commands are registered in, {@code 0} - globally
+     * @param hashPath      file storing the hash of the last registered command set
+     */
+    public static void configure(boolean enable, long targetGuildId, Path hashPath) {
+        enabled = enable;
+        guildId = targetGuildId;
+        hashFile = hashPath;
+    }
+
+    /**
+     * Checks whether slash commands are registered and handled.
+     *
+     * @return {@code true} if slash commands are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Schedules the registration of the current command set once the bot is ready.
+     * Calls within the registration delay are merged into one registration.
+     */
+    public static synchronized void scheduleSync() {
+        if (!enabled) return;
+
+        if (pendingSync != null) pendingSync.dispose();
+        pendingSync = Mono.delay(SYNC_DELAY)
+                .then(Main.whenReady())
+                .flatMap(gateway -> sync(gateway.getRestClient()))
+                .subscribe(null, error -> System.out.println("[!] Failed to register Discord slash commands: " + error.getMessage()));
+    }
+
+    /**
+     * Registers the current command set if it differs from the last registered one.
+     *
+     * @param rest the REST client of the bot
+     * @return a Mono emitting {@code true} if the commands were registered, {@code false} if they were up to date
+     */
+    public static Mono<Boolean> sync(RestClient rest) {
+        List<ApplicationCommandRequest> requests = buildRequests();
+        long targetGuildId = guildId;
+
+        return rest.getApplicationId().flatMap(applicationId -> {
+            String hash = hash(applicationId, targetGuildId, requests);
+            if (hash.equals(readHash())) return Mono.just(false);
+
+            Flux<?> overwrite = targetGuildId == 0
+                    ? rest.getApplicationService().bulkOverwriteGlobalApplicationCommand(applicationId, requests)
+                    : rest.getApplicationService().bulkOverwriteGuildApplicationCommand(applicationId, targetGuildId, requests);
+
+            return overwrite.then(Mono.fromCallable(() -> {
+                writeHash(hash);
+                System.out.printf("[#] Registered %d Discord slash commands%n", requests.size());
+                return true;
+            }));
+        });
+    }
+
+    /**
+     * Builds the requests of all registered slash commands, sorted by name.
+     * Every command has a single optional string option with its arguments.
+     *
+     * @return slash command requests
+     */
+    private static List<ApplicationCommandRequest> buildRequests() {
+        List<Command> commands = new ArrayList<>(CommandsManager.getCommandMap().values());
+        commands.sort(Comparator.comparing(Command::getName));
+
+        List<ApplicationCommandRequest> requests = new ArrayList<>(commands.size());
+        for (Command command : commands) {
+            if (!command.isSlashCommand()) continue;
+
+            String name = command.getName().toLowerCase(Locale.ROOT);
+            if (!NAME.matcher(name).matches()) {
+                System.out.printf("[!] Discord command '%s' cannot be a slash command, its name is not allowed by Discord!%n", name);
+                continue;
+            }
+
+            requests.add(ApplicationCommandRequest.builder()
+                    .name(name)
+                    .description(getDescription(command))
+                    .addOption(ApplicationCommandOptionData.builder()
+                            .name(ARGUMENTS_OPTION)
+                            .description(ARGUMENTS_OPTION)
+                            .type(ApplicationCommandOption.Type.STRING.getValue())
+                            .required(false)
+                            .build())
+                    .build());
+        }
+        return requests;
+    }
+
+    private static String getDescription(Command command) {
+        String description = command.getDescription();
+        if (description == null || description.isBlank()) return command.getName();
+
+        return description.length() > MAX_DESCRIPTION_LENGTH ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description;
+    }
+
+    /**
+     * Hashes a command set together with the application and guild it is registered for.
+     *
+     * @return SHA-256 hash in hexadecimal
+     */
+    private static String hash(long applicationId, long targetGuildId, List<ApplicationCommandRequest> requests) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((applicationId + ":" + targetGuildId + ":").getBytes(StandardCharsets.UTF_8));
+            digest.update(mapper.writeValueAsBytes(requests));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash Discord slash commands", e);
+        }
+    }
+
+    private static String readHash() {
+        try {
+            return Files.exists(hashFile) ? Files.readString(hashFile).trim() : "";
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static void writeHash(String hash) {
+        try {
+            if (hashFile.getParent() != null) Files.createDirectories(hashFile.getParent());
+            Files.writeString(hashFile, hash);
+        } catch (IOException e) {
+            System.out.println("[!] Failed to store the hash of Discord slash commands: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.brov3r.discordapi.commands;
+
+import com.brov3r.discordapi.Main;
+import com.brov3r.discordapi.events.InboundDispatcher;
+import com.brov3r.discordapi.metrics.Metrics;
+import com.brov3r.discordapi.metrics.OperationMetrics;
+import com.brov3r.discordapi.services.DiscordAPIImpl;
+import com.brov3r.discordapi.services.MessageQueue;
+import com.brov3r.discordapi.services.OutboundScheduler;
+import com.brov3r.discordapi.services.Priority;
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
+import discord4j.core.event.domain.message.MessageCreateEvent;
+import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.core.spec.InteractionReplyEditSpec;
+import discord4j.rest.util.Color;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Implementation of the stats command. Displays the metrics of API methods and commands,
+ * the state of the inbound queue, the depths of the outbound lanes and how many chat messages were merged.
+ */
+public class StatsCommand extends Command {
+    private static final int MAX_DESCRIPTION_LENGTH = 4096;
+
+    private final Color color = Color.LIGHT_SEA_GREEN;
+
+    /**
+     * Constructs a new Command with a specified name and description.
+     */
+    public StatsCommand() {
+        super("stats", Main.getTranslation("translation.stats.description"));
+    }
+
+    /**
+     * Executes the command with the given arguments.
+     *
+     * @param event The MessageCreateEvent triggering the command execution.
+     * @param args  The arguments passed to the command.
+     * @return {@code true} if the command execution was successful, {@code false} otherwise.
+     */
+    @Override
+    public boolean execute(MessageCreateEvent event, String[] args) {
+        EmbedCreateSpec embedSpec = getEmbed();
+
+        event.getMessage().getChannel()
+                .flatMap(channel -> channel.createMessage(embedSpec).withMessageReference(event.getMessage().getId()))
+                .subscribe();
+
+        return true;
+    }
+
+    /**
+     * The stats command is also available as a slash command.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isSlashCommand() {
+        return true;
+    }
+
+    /**
+     * Executes the command invoked as a slash command.
+     *
+     * @param event The ChatInputInteractionEvent triggering the command execution.
+     * @param args  The arguments passed to the command.
+     * @return a Mono emitting the reply with the metrics embed.
+     */
+    @Override
+    public Mono<InteractionReplyEditSpec> executeSlash(ChatInputInteractionEvent event, String[] args) {
+        return Mono.just(InteractionReplyEditSpec.builder().addEmbed(getEmbed()).build());
+    }
+
+    /**
+     * Generates the embed with the metrics.
+     *
+     * @return the metrics embed
+     */
+    private EmbedCreateSpec getEmbed() {
+        return EmbedCreateSpec.builder()
+                .title(Main.getTranslation("translation.stats.embedTitle"))
+                .description(getMetricsDescription())
+                .addField(Main.getTranslation("translation.stats.heartbeat"), Metrics.getHeartbeatMillis() + " ms", true)
+                .addField(Main.getTranslation("translation.stats.rateLimits"), String.valueOf(Metrics.getRateLimitHits()), true)
+                .addField(Main.getTranslation("translation.stats.inboundQueue"), getInboundQueue(), true)
+                .addField(Main.getTranslation("translation.stats.outboundLanes"), getOutboundLanes(), true)
+                .addField(Main.getTranslation("translation.stats.messageQueue"), getMessageQueues(), true)
+                .color(color)
+                .build();
+    }
+
+    /**
+     * Formats the depth of the inbound queue, the number of messages dropped because it was full
+     * and the average and maximum handling time of the listeners.
+     *
+     * @return state of the inbound queue
+     */
+    private String getInboundQueue() {
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+        return String.format("%d waiting\n%d dropped\n%.1f / %.1f ms", dispatcher.getQueueDepth(), dispatcher.getDroppedCount(),
+                dispatcher.getAverageLatencyNanos() / 1e6, dispatcher.getMaxLatencyNanos() / 1e6);
+    }
+
+    /**
+     * Formats the number of requests waiting in each outbound lane.
+     *
+     * @return one line per lane
+     */
+    private String getOutboundLanes() {
+        OutboundScheduler scheduler = Main.getDiscordAPI().getScheduler();
+        StringBuilder lanes = new StringBuilder();
+        for (Priority priority : Priority.values()) {
+            lanes.append(priority).append(": ").append(scheduler.getQueueDepth(priority)).append('\n');
+        }
+        return lanes.toString();
+    }
+
+    /**
+     * Formats the number of queued chat messages and the number of them merged into other messages.
+     *
+     * @return one line per message queue, or "-" if message merging is disabled
+     */
+    private String getMessageQueues() {
+        DiscordAPIImpl api = Main.getDiscordAPI();
+        if (api.getMessageQueue() == null) return "-";
+
+        return format(Priority.NORMAL, api.getMessageQueue()) + format(Priority.BULK, api.getBulkMessageQueue());
+    }
+
+    private String format(Priority priority, MessageQueue queue) {
+        return String.format("%s: %d / %d merged\n", priority, queue.getEnqueuedCount(), queue.getCoalescedCount());
+    }
+
+    /**
+     * Formats the metrics of API methods and commands, truncated to the embed description limit.
+     *
+     * @return formatted metrics
+     */
+    private String getMetricsDescription() {
+        StringBuilder description = new StringBuilder("```\n");
+        append(description, Metrics.getOperations());
+        append(description, Metrics.getCommands());
+
+        if (description.length() > MAX_DESCRIPTION_LENGTH - 4) {
+            description.setLength(MAX_DESCRIPTION_LENGTH - 4);
+        }
+
+        return description.append("```").toString();
+    }
+
+    private void append(StringBuilder description, List<OperationMetrics> metrics) {
+        for (OperationMetrics operation : metrics) {
+            description.append(operation).append('\n');
+        }
+    }
+}
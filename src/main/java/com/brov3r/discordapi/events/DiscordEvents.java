@@ -0,0 +1,235 @@
+package com.brov3r.discordapi.events;
+
+import com.avrix.events.Event;
+import com.avrix.events.EventManager;
+import com.brov3r.discordapi.utils.LongIndex;
+import discord4j.common.util.Snowflake;
+import discord4j.core.event.domain.message.MessageCreateEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Manager of {@link OnDiscordMessage} and {@link OnDiscordCommand} listeners scoped to channels or guilds.
+ * <p>
+ * Listeners added here receive only the messages of the channels and guilds they declare, looked up in an index
+ * by channel and guild ID. Listeners registered with {@link EventManager#addListener} still receive every message
+ * while {@code events.eventManagerListeners} is enabled. Once it is disabled, messages that no listener subscribed to
+ * and that are not commands are dropped before they are queued for handling.
+ * <p>
+ * The {@code events.allowedChannels} allowlist applies to all listeners and commands.
+ */
+public class DiscordEvents {
+    private static final Scoped<OnDiscordMessage> messageListeners = new Scoped<>();
+    private static final Scoped<OnDiscordCommand> commandListeners = new Scoped<>();
+
+    private static volatile long[] allowedChannels = new long[0];
+    private static volatile boolean eventManagerListeners = true;
+
+    private static final LongAdder filteredCount = new LongAdder();
+
+    /**
+     * Sets the channels whose messages are handled.
+     *
+     * @param channelIds IDs of the allowed channels, empty - all channels
+     */
+    public static void setAllowedChannels(long[] channelIds) {
+        allowedChannels = channelIds.clone();
+        Arrays.sort(allowedChannels);
+    }
+
+    /**
+     * Sets whether messages are also delivered to listeners registered with {@link EventManager#addListener}.
+     *
+     * @param enabled {@code true} to invoke the event manager for every handled message
+     */
+    public static void setEventManagerListeners(boolean enabled) {
+        eventManagerListeners = enabled;
+    }
+
+    /**
+     * Adds a message listener receiving the messages of the channels and guilds it declares,
+     * or all messages if it declares none.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(OnDiscordMessage listener) {
+        messageListeners.add(listener, listener.getChannelIds(), listener.getGuildIds());
+    }
+
+    /**
+     * Adds a command listener receiving the commands of the channels and guilds it declares,
+     * or all commands if it declares none.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(OnDiscordCommand listener) {
+        commandListeners.add(listener, listener.getChannelIds(), listener.getGuildIds());
+    }
+
+    /**
+     * Removes a listener added by {@link #addListener}.
+     *
+     * @param listener the listener
+     */
+    public static void removeListener(Event listener) {
+        if (listener instanceof OnDiscordMessage messageListener) messageListeners.remove(messageListener);
+        if (listener instanceof OnDiscordCommand commandListener) commandListeners.remove(commandListener);
+    }
+
+    /**
+     * Checks whether a message has to be handled: its channel is allowed and a listener is interested in it
+     * or it may be a command. Called on the gateway thread for every message, so it only does index lookups.
+     *
+     * @param channelId ID of the channel of the message
+     * @param guildId   ID of the guild of the message, {@code 0} for direct messages
+     * @param content   content of the message
+     * @param prefix    command prefix
+     * @return {@code true} if the message has to be handled
+     */
+    public static boolean accept(long channelId, long guildId, String content, String prefix) {
+        boolean accepted = isAllowed(channelId)
+                && (eventManagerListeners || messageListeners.matches(channelId, guildId) || content.startsWith(prefix));
+
+        if (!accepted) filteredCount.increment();
+        return accepted;
+    }
+
+    /**
+     * Checks whether the messages and commands of a channel are handled according to {@code events.allowedChannels}.
+     *
+     * @param channelId ID of the channel
+     * @return {@code true} if the channel is allowed
+     */
+    public static boolean isAllowed(long channelId) {
+        long[] allowed = allowedChannels;
+        return allowed.length == 0 || Arrays.binarySearch(allowed, channelId) >= 0;
+    }
+
+    /**
+     * Delivers a message to the listeners interested in it.
+     *
+     * @param event the message event
+     */
+    public static void dispatchMessage(MessageCreateEvent event) {
+        long channelId = event.getMessage().getChannelId().asLong();
+        long guildId = event.getGuildId().map(Snowflake::asLong).orElse(0L);
+
+        messageListeners.forEach(channelId, guildId, listener -> listener.handleEvent(event));
+        if (eventManagerListeners) EventManager.invokeEvent("onDiscordMessage", event);
+    }
+
+    /**
+     * Delivers an executed command to the listeners interested in it.
+     *
+     * @param commandName name of the command
+     * @param commandArgs arguments of the command
+     * @param event       the message event
+     */
+    public static void dispatchCommand(String commandName, String[] commandArgs, MessageCreateEvent event) {
+        long channelId = event.getMessage().getChannelId().asLong();
+        long guildId = event.getGuildId().map(Snowflake::asLong).orElse(0L);
+
+        commandListeners.forEach(channelId, guildId, listener -> listener.handleEvent(commandName, commandArgs, event));
+        if (eventManagerListeners) EventManager.invokeEvent("onDiscordCommand", commandName, commandArgs, event);
+    }
+
+    /**
+     * Getting the number of messages dropped because no listener was interested in them
+     * or their channel is not allowed
+     *
+     * @return number of dropped messages
+     */
+    public static long getFilteredCount() {
+        return filteredCount.sum();
+    }
+
+    /**
+     * Listeners of one type, indexed by the channels and guilds they are scoped to
+     *
+     * @param <L> type of the listeners
+     */
+    private static class Scoped<L> {
+        private volatile List<L> global = Collections.emptyList();
+        private volatile LongIndex<L> byChannel = LongIndex.empty();
+        private volatile LongIndex<L> byGuild = LongIndex.empty();
+
+        /**
+         * Adds a listener to the index. IDs listed more than once are indexed once, so the listener
+         * is still invoked once per message.
+         */
+        private synchronized void add(L listener, long[] channelIds, long[] guildIds) {
+            if (channelIds.length == 0 && guildIds.length == 0) {
+                List<L> listeners = new ArrayList<>(global);
+                listeners.add(listener);
+                global = Collections.unmodifiableList(listeners);
+                return;
+            }
+
+            LongIndex<L> channels = byChannel;
+            for (long channelId : channelIds) {
+                if (!isIndexed(channels, channelId, listener)) channels = channels.with(channelId, listener);
+            }
+
+            LongIndex<L> guilds = byGuild;
+            for (long guildId : guildIds) {
+                if (!isIndexed(guilds, guildId, listener)) guilds = guilds.with(guildId, listener);
+            }
+
+            byChannel = channels;
+            byGuild = guilds;
+        }
+
+        private boolean isIndexed(LongIndex<L> index, long key, L listener) {
+            for (L indexed : index.get(key)) {
+                if (indexed == listener) return true;
+            }
+            return false;
+        }
+
+        private synchronized void remove(L listener) {
+            List<L> listeners = new ArrayList<>(global);
+            listeners.removeIf(added -> added == listener);
+            global = Collections.unmodifiableList(listeners);
+
+            byChannel = byChannel.without(listener);
+            byGuild = byGuild.without(listener);
+        }
+
+        private boolean matches(long channelId, long guildId) {
+            return !global.isEmpty() || byChannel.containsKey(channelId) || (guildId != 0 && byGuild.containsKey(guildId));
+        }
+
+        /**
+         * Runs an action for every listener interested in a channel, once per listener
+         * even if it is scoped to both the channel and its guild.
+         */
+        private void forEach(long channelId, long guildId, Consumer<L> action) {
+            List<L> channelListeners = byChannel.get(channelId);
+
+            for (L listener : global) {
+                run(listener, action);
+            }
+            for (L listener : channelListeners) {
+                run(listener, action);
+            }
+            if (guildId == 0) return;
+
+            for (L listener : byGuild.get(guildId)) {
+                if (!channelListeners.contains(listener)) run(listener, action);
+            }
+        }
+
+        private void run(L listener, Consumer<L> action) {
+            try {
+                action.accept(listener);
+            } catch (Exception e) {
+                System.out.printf("[!] Discord event listener '%s' failed: %s%n", listener.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.brov3r.discordapi.events;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel stage for handling inbound Discord events.
+ * <p>
+ * Tasks are partitioned by channel ID into bounded queues, each drained by its own worker thread.
+ * Tasks of one channel are therefore handled in the order they arrived, while different channels
+ * are handled in parallel. When a queue is full, the configured {@link OverflowPolicy} applies.
+ */
+public class InboundDispatcher {
+    /**
+     * Behavior when the queue of a partition is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for free space, slowing down the gateway
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued task of the partition
+         */
+        DROP_OLDEST,
+        /**
+         * Drop the incoming task
+         */
+        DROP_NEWEST;
+
+        /**
+         * Parses a policy by name, ignoring case.
+         *
+         * @param name name of the policy
+         * @return parsed policy or {@link #BLOCK} if the name is unknown
+         */
+        public static OverflowPolicy of(String name) {
+            if (name == null) return BLOCK;
+
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                System.out.printf("[!] Unknown overflow policy '%s'! Using BLOCK%n", name);
+                return BLOCK;
+            }
+        }
+    }
+
+    private final Partition[] partitions;
+    private final OverflowPolicy overflowPolicy;
+    private volatile boolean shutdown;
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Constructs and starts a new dispatcher.
+     *
+     * @param workers        number of partitions, each with its own worker thread
+     * @param queueCapacity  capacity of the queue of each partition
+     * @param overflowPolicy behavior when a queue is full
+     */
+    public InboundDispatcher(int workers, int queueCapacity, OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        this.partitions = new Partition[Math.max(workers, 1)];
+
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, Math.max(queueCapacity, 1));
+            partitions[i].worker.start();
+        }
+    }
+
+    /**
+     * Queues a task for the partition of the specified channel.
+     *
+     * @param channelId ID of the channel the task belongs to
+     * @param task      task to run
+     */
+    public void dispatch(long channelId, Runnable task) {
+        BlockingQueue<Runnable> queue = partitions[Math.floorMod(Long.hashCode(channelId), partitions.length)].queue;
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(task);
+                } catch (InterruptedException e) {
+                    droppedCount.increment();
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(task)) {
+                    if (queue.poll() != null) droppedCount.increment();
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!queue.offer(task)) droppedCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Stops the worker threads. Queued tasks that have not started yet are discarded.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Partition partition : partitions) {
+            partition.worker.interrupt();
+        }
+    }
+
+    /**
+     * Runs a task, measuring its execution time. Errors thrown by the task are caught as well,
+     * as a dead worker would leave its partition undrained and block the gateway with {@link OverflowPolicy#BLOCK}.
+     *
+     * @param task task to run
+     */
+    private void run(Runnable task) {
+        long start = System.nanoTime();
+
+        try {
+            task.run();
+        } catch (Throwable e) {
+            System.out.println("[!] An error occurred while handling a Discord event: " + e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        processedCount.increment();
+        latencyNanos.add(elapsed);
+        maxLatencyNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * Getting the number of partitions
+     *
+     * @return number of partitions
+     */
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Getting the number of tasks waiting in a partition
+     *
+     * @param partition index of the partition
+     * @return queue depth of the partition
+     */
+    public int getQueueDepth(int partition) {
+        return partitions[partition].queue.size();
+    }
+
+    /**
+     * Getting the number of tasks waiting in all partitions
+     *
+     * @return total queue depth
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Partition partition : partitions) {
+            depth += partition.queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Getting the number of handled tasks
+     *
+     * @return number of handled tasks
+     */
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    /**
+     * Getting the number of tasks dropped because of a full queue
+     *
+     * @return number of dropped tasks
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Getting the average execution time of the listeners of a task
+     *
+     * @return average latency in nanoseconds
+     */
+    public long getAverageLatencyNanos() {
+        long count = processedCount.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / count;
+    }
+
+    /**
+     * Getting the longest execution time of the listeners of a task
+     *
+     * @return maximum latency in nanoseconds
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    /**
+     * Queue of a single partition with its worker thread
+     */
+    private class Partition {
+        private final BlockingQueue<Runnable> queue;
+        private final Thread worker;
+
+        private Partition(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.worker = new Thread(this::drain, "discord-inbound-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        private void drain() {
+            while (!shutdown) {
+                try {
+                    run(queue.take());
+                } catch (InterruptedException e) {
+                    // Only a shutdown stops the worker, not an interrupt left behind by a listener
+                }
+            }
+        }
+    }
+}
@@ -7,6 +7,8 @@ import discord4j.core.event.domain.message.MessageCreateEvent;
  * Triggered when a chat message arrives
  */
 public abstract class OnDiscordMessage extends Event {
+    private static final long[] ALL = new long[0];
+
     /**
      * Getting the event name
      *
@@ -17,6 +19,26 @@ public abstract class OnDiscordMessage extends Event {
         return "onDiscordMessage";
     }
 
+    /**
+     * Getting the IDs of the channels whose messages this listener receives when it is added by
+     * {@link DiscordEvents#addListener}
+     *
+     * @return channel IDs, empty - no restriction by channel
+     */
+    public long[] getChannelIds() {
+        return ALL;
+    }
+
+    /**
+     * Getting the IDs of the guilds whose messages this listener receives when it is added by
+     * {@link DiscordEvents#addListener}
+     *
+     * @return guild IDs, empty - no restriction by guild
+     */
+    public long[] getGuildIds() {
+        return ALL;
+    }
+
     /**
      * Called when a message arrives in a discord chat (any one).
      *
@@ -0,0 +1,145 @@
+package com.brov3r.discordapi.metrics;
+
+import com.brov3r.discordapi.Main;
+import com.brov3r.discordapi.commands.CommandCooldowns;
+import com.brov3r.discordapi.events.DiscordEvents;
+import com.brov3r.discordapi.events.InboundDispatcher;
+import com.brov3r.discordapi.services.MessageQueue;
+import com.brov3r.discordapi.services.OutboundJournal;
+import com.brov3r.discordapi.services.OutboundScheduler;
+import com.brov3r.discordapi.services.Priority;
+import com.brov3r.discordapi.utils.ExpiringCache;
+
+import java.util.List;
+
+/**
+ * JMX view of the plugin metrics, registered as {@code com.brov3r.discordapi:type=Metrics}
+ */
+public class DiscordMetrics implements DiscordMetricsMBean {
+    @Override
+    public String[] getOperations() {
+        return format(Metrics.getOperations());
+    }
+
+    @Override
+    public String[] getCommands() {
+        return format(Metrics.getCommands());
+    }
+
+    @Override
+    public long getRateLimitHits() {
+        return Metrics.getRateLimitHits();
+    }
+
+    @Override
+    public long getHeartbeatMillis() {
+        return Metrics.getHeartbeatMillis();
+    }
+
+    @Override
+    public int getInboundQueueDepth() {
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+        return dispatcher == null ? 0 : dispatcher.getQueueDepth();
+    }
+
+    @Override
+    public long getInboundDroppedCount() {
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+        return dispatcher == null ? 0 : dispatcher.getDroppedCount();
+    }
+
+    @Override
+    public long getInboundProcessedCount() {
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+        return dispatcher == null ? 0 : dispatcher.getProcessedCount();
+    }
+
+    @Override
+    public long getInboundAverageLatencyMicros() {
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+        return dispatcher == null ? 0 : dispatcher.getAverageLatencyNanos() / 1000;
+    }
+
+    @Override
+    public long getInboundMaxLatencyMicros() {
+        InboundDispatcher dispatcher = Main.getInboundDispatcher();
+        return dispatcher == null ? 0 : dispatcher.getMaxLatencyNanos() / 1000;
+    }
+
+    @Override
+    public long getInboundFilteredCount() {
+        return DiscordEvents.getFilteredCount();
+    }
+
+    @Override
+    public long getThrottledCommandCount() {
+        return CommandCooldowns.getThrottledCount();
+    }
+
+    @Override
+    public int getPendingRequestCount() {
+        return Main.getDiscordAPI() == null ? 0 : Main.getDiscordAPI().getPendingCount();
+    }
+
+    @Override
+    public int getJournalPendingCount() {
+        OutboundJournal journal = Main.getDiscordAPI() == null ? null : Main.getDiscordAPI().getJournal();
+        return journal == null ? 0 : journal.getPendingCount();
+    }
+
+    @Override
+    public String[] getOutboundLanes() {
+        if (Main.getDiscordAPI() == null) return new String[0];
+
+        OutboundScheduler scheduler = Main.getDiscordAPI().getScheduler();
+        Priority[] priorities = Priority.values();
+        String[] lines = new String[priorities.length];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = priorities[i] + ": waiting=" + scheduler.getQueueDepth(priorities[i])
+                    + " dispatched=" + scheduler.getDispatchedCount(priorities[i]);
+        }
+        return lines;
+    }
+
+    @Override
+    public String[] getMessageQueues() {
+        if (Main.getDiscordAPI() == null || Main.getDiscordAPI().getMessageQueue() == null) return new String[0];
+
+        return new String[]{
+                format(Priority.NORMAL.toString(), Main.getDiscordAPI().getMessageQueue()),
+                format(Priority.BULK.toString(), Main.getDiscordAPI().getBulkMessageQueue())
+        };
+    }
+
+    @Override
+    public long getBulkShedCount() {
+        return Main.getDiscordAPI() == null ? 0 : Main.getDiscordAPI().getScheduler().getShedCount();
+    }
+
+    @Override
+    public String[] getCaches() {
+        if (Main.getDiscordAPI() == null) return new String[0];
+
+        return new String[]{
+                format("channels", Main.getDiscordAPI().getChannelCache()),
+                format("users", Main.getDiscordAPI().getUserCache())
+        };
+    }
+
+    private static String format(String name, ExpiringCache<?, ?> cache) {
+        return name + ": size=" + cache.size() + " hits=" + cache.getHits() + " misses=" + cache.getMisses();
+    }
+
+    private static String format(String name, MessageQueue queue) {
+        return name + ": enqueued=" + queue.getEnqueuedCount() + " sent=" + queue.getSentCount()
+                + " coalesced=" + queue.getCoalescedCount();
+    }
+
+    private static String[] format(List<OperationMetrics> metrics) {
+        String[] lines = new String[metrics.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = metrics.get(i).toString();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,126 @@
+package com.brov3r.discordapi.metrics;
+
+/**
+ * JMX interface of the plugin metrics
+ */
+public interface DiscordMetricsMBean {
+    /**
+     * Getting the metrics of API methods
+     *
+     * @return one line per method with call count, error count, p50 and p99 latency
+     */
+    String[] getOperations();
+
+    /**
+     * Getting the metrics of commands
+     *
+     * @return one line per command with call count, error count, p50 and p99 latency
+     */
+    String[] getCommands();
+
+    /**
+     * Getting the number of requests rejected by Discord because of rate limits
+     *
+     * @return number of 429 responses
+     */
+    long getRateLimitHits();
+
+    /**
+     * Getting the gateway heartbeat latency
+     *
+     * @return heartbeat latency in milliseconds or {@code -1} if the bot is not connected
+     */
+    long getHeartbeatMillis();
+
+    /**
+     * Getting the number of inbound messages waiting to be handled
+     *
+     * @return inbound queue depth
+     */
+    int getInboundQueueDepth();
+
+    /**
+     * Getting the number of inbound messages dropped because of a full queue
+     *
+     * @return number of dropped inbound messages
+     */
+    long getInboundDroppedCount();
+
+    /**
+     * Getting the number of inbound messages handled by the listeners
+     *
+     * @return number of handled inbound messages
+     */
+    long getInboundProcessedCount();
+
+    /**
+     * Getting the average time the listeners took to handle an inbound message
+     *
+     * @return average handling time in microseconds
+     */
+    long getInboundAverageLatencyMicros();
+
+    /**
+     * Getting the longest time the listeners took to handle an inbound message
+     *
+     * @return maximum handling time in microseconds
+     */
+    long getInboundMaxLatencyMicros();
+
+    /**
+     * Getting the number of inbound messages dropped because no listener was interested in them
+     * or their channel is not allowed
+     *
+     * @return number of filtered messages
+     */
+    long getInboundFilteredCount();
+
+    /**
+     * Getting the number of command invocations rejected because of their cooldowns
+     *
+     * @return number of throttled commands
+     */
+    long getThrottledCommandCount();
+
+    /**
+     * Getting the number of requests buffered until the bot is ready
+     *
+     * @return number of buffered requests
+     */
+    int getPendingRequestCount();
+
+    /**
+     * Getting the number of recorded messages that have not been sent yet
+     *
+     * @return number of unsent messages in the outbound journal
+     */
+    int getJournalPendingCount();
+
+    /**
+     * Getting the state of the outbound priority lanes
+     *
+     * @return one line per lane with the number of waiting and dispatched requests
+     */
+    String[] getOutboundLanes();
+
+    /**
+     * Getting the state of the queues merging chat messages
+     *
+     * @return one line per queue with the number of queued, sent and coalesced messages
+     */
+    String[] getMessageQueues();
+
+    /**
+     * Getting the number of bulk requests dropped because the bulk lane was full
+     *
+     * @return number of dropped bulk requests
+     */
+    long getBulkShedCount();
+
+    /**
+     * Getting the state of the channel and user caches
+     *
+     * @return one line per cache with its size, hits and misses
+     */
+    String[] getCaches();
+}
@@ -0,0 +1,77 @@
+package com.brov3r.discordapi.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Values are counted in buckets growing exponentially, with four buckets per power of two,
+ * so percentiles are accurate to about 25% over the whole range. Recording a value does not allocate.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(getBucket(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Calculates a percentile of the recorded latencies.
+     *
+     * @param percentile percentile between 0 and 1, e.g. 0.99
+     * @return upper bound of the bucket containing the percentile in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+
+        if (total == 0) return 0;
+
+        long target = Math.max((long) Math.ceil(total * percentile), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return getUpperBound(i);
+        }
+
+        return getUpperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Getting the bucket of a value
+     *
+     * @param value non-negative value
+     * @return index of the bucket
+     */
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Getting the largest value counted in a bucket
+     *
+     * @param bucket index of the bucket
+     * @return upper bound of the bucket
+     */
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lowerBound = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
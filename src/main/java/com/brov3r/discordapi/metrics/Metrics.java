@@ -0,0 +1,152 @@
+package com.brov3r.discordapi.metrics;
+
+import com.brov3r.discordapi.Main;
+import discord4j.common.ReactorResources;
+import discord4j.core.GatewayDiscordClient;
+import discord4j.gateway.GatewayClient;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the plugin metrics: latencies of API methods and commands, rate limit hits and gateway heartbeat.
+ * <p>
+ * Metrics objects are created once per operation and then only updated, so recording does not allocate.
+ */
+public class Metrics {
+    private static final String MBEAN_NAME = "com.brov3r.discordapi:type=Metrics";
+
+    private static final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private static final Map<String, OperationMetrics> commands = new ConcurrentHashMap<>();
+    private static final LongAdder rateLimitHits = new LongAdder();
+
+    /**
+     * Getting the metrics of an API method, creating them on the first use
+     *
+     * @param name name of the method
+     * @return metrics of the method
+     */
+    public static OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * Getting the metrics of a command, creating them on the first use
+     *
+     * @param name name of the command
+     * @return metrics of the command
+     */
+    public static OperationMetrics command(String name) {
+        return commands.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * Getting the metrics of all API methods
+     *
+     * @return metrics of API methods sorted by name
+     */
+    public static List<OperationMetrics> getOperations() {
+        return sorted(operations);
+    }
+
+    /**
+     * Getting the metrics of all commands
+     *
+     * @return metrics of commands sorted by name
+     */
+    public static List<OperationMetrics> getCommands() {
+        return sorted(commands);
+    }
+
+    private static List<OperationMetrics> sorted(Map<String, OperationMetrics> metrics) {
+        List<OperationMetrics> list = new ArrayList<>(metrics.values());
+        list.sort(Comparator.comparing(OperationMetrics::getName));
+        return list;
+    }
+
+    /**
+     * Records a response of Discord with the status 429 (Too Many Requests).
+     */
+    public static void recordRateLimit() {
+        rateLimitHits.increment();
+    }
+
+    /**
+     * Getting the number of requests rejected by Discord because of rate limits
+     *
+     * @return number of 429 responses
+     */
+    public static long getRateLimitHits() {
+        return rateLimitHits.sum();
+    }
+
+    /**
+     * Getting the gateway heartbeat latency, the slowest of all connected shards
+     *
+     * @return heartbeat latency in milliseconds or {@code -1} if the bot is not connected
+     */
+    public static long getHeartbeatMillis() {
+        GatewayDiscordClient gateway = Main.getGateway();
+        if (gateway == null) return -1;
+
+        long heartbeat = -1;
+        int shardCount = gateway.getGatewayClientGroup().getShardCount();
+        for (int i = 0; i < shardCount; i++) {
+            Optional<GatewayClient> client = gateway.getGatewayClient(i);
+            if (client.isPresent()) heartbeat = Math.max(heartbeat, client.get().getResponseTime().toMillis());
+        }
+
+        return heartbeat;
+    }
+
+    /**
+     * Creates Reactor resources whose HTTP client counts rate-limited responses of Discord.
+     *
+     * @return Reactor resources for Discord clients
+     */
+    public static ReactorResources createReactorResources() {
+        return ReactorResources.builder()
+                .httpClient(ReactorResources.DEFAULT_HTTP_CLIENT.get()
+                        .doOnResponse((response, connection) -> {
+                            if (response.status().code() == 429) recordRateLimit();
+                        }))
+                .build();
+    }
+
+    /**
+     * Registers the metrics MBean, so the metrics can be read via JMX (e.g. JConsole or VisualVM).
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+
+            if (!server.isRegistered(name)) server.registerMBean(new DiscordMetrics(), name);
+        } catch (JMException e) {
+            System.out.println("[!] Failed to register Discord API metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Unregisters the metrics MBean.
+     */
+    public static void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+        } catch (JMException e) {
+            System.out.println("[!] Failed to unregister Discord API metrics MBean: " + e.getMessage());
+        }
+    }
+}
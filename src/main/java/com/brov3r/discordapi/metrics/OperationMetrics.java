@@ -0,0 +1,101 @@
+package com.brov3r.discordapi.metrics;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of a single operation, such as an API method or a command.
+ */
+public class OperationMetrics {
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Constructs metrics of an operation.
+     *
+     * @param name name of the operation
+     */
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a completed call.
+     *
+     * @param nanos latency of the call in nanoseconds
+     * @param error whether the call failed
+     */
+    public void record(long nanos, boolean error) {
+        calls.increment();
+        if (error) errors.increment();
+        latency.record(nanos);
+    }
+
+    /**
+     * Measures a call from subscription to termination.
+     *
+     * @param source the call to measure
+     * @param <T>    type of the call result
+     * @return a Mono recording the call when it terminates
+     */
+    public <T> Mono<T> time(Mono<T> source) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source.doFinally(signal -> {
+                if (signal != SignalType.CANCEL) record(System.nanoTime() - start, signal == SignalType.ON_ERROR);
+            });
+        });
+    }
+
+    /**
+     * Getting the name of the operation
+     *
+     * @return name of the operation
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getting the number of calls
+     *
+     * @return number of calls
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Getting the number of failed calls
+     *
+     * @return number of failed calls
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Getting a latency percentile
+     *
+     * @param percentile percentile between 0 and 1, e.g. 0.99
+     * @return latency in nanoseconds
+     */
+    public long getPercentile(double percentile) {
+        return latency.getPercentile(percentile);
+    }
+
+    /**
+     * Formats the metrics as a single line.
+     *
+     * @return formatted metrics
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: calls=%d errors=%d p50=%.1fms p99=%.1fms", name, getCalls(), getErrors(),
+                getPercentile(0.5) / 1_000_000.0, getPercentile(0.99) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.brov3r.discordapi.services;
+
+/**
+ * Result of a single operation executed by {@link DiscordAPI#executeBatch}.
+ *
+ * @param <T> type of the operation result
+ */
+public class BatchResult<T> {
+    private final int index;
+    private final T value;
+    private final Throwable error;
+
+    /**
+     * Constructs a new batch result.
+     *
+     * @param index index of the operation in the batch
+     * @param value the result of the operation or {@code null} if it has none
+     * @param error the error of the operation or {@code null} if it succeeded
+     */
+    public BatchResult(int index, T value, Throwable error) {
+        this.index = index;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Returns the index of the operation in the batch.
+     *
+     * @return index of the operation
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the result of the operation, e.g. the ID of a created message.
+     *
+     * @return the result or {@code null} if the operation failed or completed without a result
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Checks whether the operation succeeded.
+     *
+     * @return {@code true} if the operation succeeded
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the error of the operation.
+     *
+     * @return the error or {@code null} if the operation succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + index + (isSuccess() ? ": " + value : ": failed - " + error.getMessage());
+    }
+}
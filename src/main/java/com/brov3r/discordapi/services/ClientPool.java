@@ -0,0 +1,218 @@
+package com.brov3r.discordapi.services;
+
+import discord4j.common.util.Snowflake;
+import discord4j.discordjson.json.MessageData;
+import discord4j.rest.RestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+/**
+ * Pool of bot clients used to spread outbound REST requests over several bot tokens,
+ * so that plugins are not limited by the global rate limit of a single bot.
+ * <p>
+ * The first client is the primary bot, which also handles the gateway connection.
+ * Additional bots must be members of the guilds and have access to the channels they send to.
+ * <p>
+ * Discord only lets the author of a message edit it, so the pool remembers which bot created recent messages
+ * and edits them with the same bot. Messages it does not know, e.g. posted before a restart, are edited by the primary
+ * bot, so no request is spent on looking up their author.
+ */
+public class ClientPool {
+    /**
+     * Strategy of choosing a client for a request
+     */
+    public enum Strategy {
+        /**
+         * Requests to the same channel always use the same client, preserving their order
+         */
+        CHANNEL,
+        /**
+         * Requests use the client with the fewest requests in flight
+         */
+        LEAST_LOADED;
+
+        /**
+         * Parses a strategy by name, ignoring case.
+         *
+         * @param name name of the strategy
+         * @return parsed strategy or {@link #CHANNEL} if the name is unknown
+         */
+        public static Strategy of(String name) {
+            if (name == null || name.isBlank()) return CHANNEL;
+
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                System.out.printf("[!] Unknown client pool strategy '%s'! Using CHANNEL%n", name);
+                return CHANNEL;
+            }
+        }
+    }
+
+    private static final int MAX_TRACKED_AUTHORS = 4096;
+
+    private final List<RestClient> clients;
+    private final AtomicIntegerArray inFlight;
+    private final Strategy strategy;
+    private final Map<Long, Integer> authors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new client pool.
+     *
+     * @param primary    client of the primary bot
+     * @param additional clients of the additional bots
+     * @param strategy   strategy of choosing a client for a request
+     */
+    public ClientPool(RestClient primary, List<? extends RestClient> additional, Strategy strategy) {
+        List<RestClient> all = new ArrayList<>(additional.size() + 1);
+        all.add(primary);
+        all.addAll(additional);
+
+        this.clients = Collections.unmodifiableList(all);
+        this.inFlight = new AtomicIntegerArray(all.size());
+        this.strategy = strategy;
+    }
+
+    /**
+     * Executes a request on the client chosen by the pool strategy.
+     *
+     * @param channelId ID of the channel the request targets
+     * @param request   function creating the request for the chosen client
+     * @param <T>       type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    public <T> Mono<T> execute(Snowflake channelId, Function<RestClient, Mono<T>> request) {
+        return execute(strategy == Strategy.CHANNEL ? getChannelIndex(channelId) : getLeastLoadedIndex(), request);
+    }
+
+    /**
+     * Executes a request on the client assigned to the channel, regardless of the pool strategy.
+     * Used for requests that depend on the bot identity, such as adding and removing own reactions.
+     *
+     * @param channelId ID of the channel the request targets
+     * @param request   function creating the request for the chosen client
+     * @param <T>       type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    public <T> Mono<T> executeByChannel(Snowflake channelId, Function<RestClient, Mono<T>> request) {
+        return execute(getChannelIndex(channelId), request);
+    }
+
+    /**
+     * Executes a request on the client of the primary bot.
+     * Used for requests that need permissions granted to the primary bot, such as deleting messages of other users.
+     *
+     * @param request function creating the request for the primary client
+     * @param <T>     type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    public <T> Mono<T> executeOnPrimary(Function<RestClient, Mono<T>> request) {
+        return execute(0, request);
+    }
+
+    /**
+     * Executes a request on the client of the bot that authored a message, such as an edit.
+     * Messages whose author is not known are handled by the primary bot.
+     *
+     * @param messageId ID of the message
+     * @param request   function creating the request for the chosen client
+     * @param <T>       type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    public <T> Mono<T> executeAsAuthor(Snowflake messageId, Function<RestClient, Mono<T>> request) {
+        Integer author = clients.size() == 1 ? null : authors.get(messageId.asLong());
+        return execute(author != null ? author : 0, request);
+    }
+
+    /**
+     * Executes a request on the client with the specified index, tracking the number of requests in flight.
+     * The client is remembered as the author of the messages it creates.
+     *
+     * @param index   index of the client
+     * @param request function creating the request for the client
+     * @param <T>     type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    private <T> Mono<T> execute(int index, Function<RestClient, Mono<T>> request) {
+        return Mono.defer(() -> {
+            inFlight.incrementAndGet(index);
+            return request.apply(clients.get(index))
+                    .doOnNext(result -> {
+                        if (result instanceof MessageData message && clients.size() > 1) {
+                            recordAuthor(message.id().asLong(), index);
+                        }
+                    })
+                    .doFinally(signal -> inFlight.decrementAndGet(index));
+        });
+    }
+
+    /**
+     * Getting the index of the client assigned to a channel
+     *
+     * @param channelId ID of the channel
+     * @return index of the client
+     */
+    private int getChannelIndex(Snowflake channelId) {
+        return Math.floorMod(Long.hashCode(channelId.asLong()), clients.size());
+    }
+
+    /**
+     * Remembers the client that authored a message. The record is cleared when it reaches its maximum size.
+     *
+     * @param messageId ID of the message
+     * @param index     index of the client
+     */
+    private void recordAuthor(long messageId, int index) {
+        if (authors.size() >= MAX_TRACKED_AUTHORS) authors.clear();
+        authors.put(messageId, index);
+    }
+
+    /**
+     * Getting the index of the client with the fewest requests in flight
+     *
+     * @return index of the client
+     */
+    private int getLeastLoadedIndex() {
+        int best = 0;
+        for (int i = 1; i < clients.size(); i++) {
+            if (inFlight.get(i) < inFlight.get(best)) best = i;
+        }
+        return best;
+    }
+
+    /**
+     * Getting the client of the primary bot
+     *
+     * @return primary client
+     */
+    public RestClient getPrimary() {
+        return clients.get(0);
+    }
+
+    /**
+     * Getting the number of clients in the pool
+     *
+     * @return number of clients
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Getting the number of requests in flight on a client
+     *
+     * @param index index of the client
+     * @return number of requests in flight
+     */
+    public int getInFlight(int index) {
+        return inFlight.get(index);
+    }
+}
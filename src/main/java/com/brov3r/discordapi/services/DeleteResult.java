@@ -0,0 +1,67 @@
+package com.brov3r.discordapi.services;
+
+import discord4j.common.util.Snowflake;
+
+/**
+ * Result of deleting a single message by {@link DiscordAPI#deleteMessages} or {@link DiscordAPI#purge}.
+ */
+public class DeleteResult {
+    private final Snowflake messageId;
+    private final boolean bulk;
+    private final Throwable error;
+
+    /**
+     * Constructs a new delete result.
+     *
+     * @param messageId ID of the message
+     * @param bulk      whether the message was deleted by a bulk-delete request
+     * @param error     the error of the deletion or {@code null} if the message was deleted
+     */
+    public DeleteResult(Snowflake messageId, boolean bulk, Throwable error) {
+        this.messageId = messageId;
+        this.bulk = bulk;
+        this.error = error;
+    }
+
+    /**
+     * Returns the ID of the message.
+     *
+     * @return ID of the message
+     */
+    public Snowflake getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Checks whether the message was deleted by a bulk-delete request rather than on its own.
+     * Messages older than 14 days cannot be bulk-deleted and are always deleted one by one.
+     *
+     * @return {@code true} if the message was deleted in bulk
+     */
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    /**
+     * Checks whether the message was deleted.
+     *
+     * @return {@code true} if the message was deleted
+     */
+    public boolean isDeleted() {
+        return error == null;
+    }
+
+    /**
+     * Returns the error of the deletion.
+     *
+     * @return the error or {@code null} if the message was deleted
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return messageId.asString() + (isDeleted() ? (bulk ? ": deleted in bulk" : ": deleted") : ": failed - " + error.getMessage());
+    }
+}
@@ -1,14 +1,23 @@
 package com.brov3r.discordapi.services;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.DiscordClient;
 import discord4j.core.GatewayDiscordClient;
+import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.User;
 import discord4j.core.object.entity.channel.Channel;
 import discord4j.core.spec.EmbedCreateSpec;
 import discord4j.core.spec.MessageEditSpec;
 import discord4j.core.spec.WebhookExecuteSpec;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Interface for Discord API services.
  * Provides methods for sending messages and embeds to channels and webhooks,
@@ -29,6 +38,23 @@ public interface DiscordAPI {
      */
     DiscordClient getClient();
 
+    /**
+     * Checks whether the bot is connected to Discord.
+     * Requests made while the bot is not ready, before it first connects or while it reconnects,
+     * are buffered and sent once it connects.
+     *
+     * @return {@code true} if the bot is ready
+     */
+    boolean isReady();
+
+    /**
+     * Waits for the bot to connect to Discord. The server does not wait for the bot during startup,
+     * so plugins that need the gateway right away should subscribe to this signal.
+     *
+     * @return a Mono emitting the gateway once the bot is connected, or an error if the bot could not be authorized
+     */
+    Mono<GatewayDiscordClient> whenReady();
+
     /**
      * Send a message to a specified channel.
      *
@@ -37,6 +63,127 @@ public interface DiscordAPI {
      */
     void sendMessage(String channelId, String message);
 
+    /**
+     * Send a message to a specified channel.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     */
+    void sendMessage(Snowflake channelId, String message);
+
+    /**
+     * Send a message to a specified channel.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     */
+    default void sendMessage(long channelId, String message) {
+        sendMessage(Snowflake.of(channelId), message);
+    }
+
+    /**
+     * Send a message to a specified channel with a priority.
+     * Critical messages are sent before all others, bulk messages are delayed or dropped while Discord is rate limiting the bot.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     */
+    void sendMessage(String channelId, String message, Priority priority);
+
+    /**
+     * Send a message to a specified channel with a priority.
+     * Critical messages are sent before all others, bulk messages are delayed or dropped while Discord is rate limiting the bot.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     */
+    void sendMessage(Snowflake channelId, String message, Priority priority);
+
+    /**
+     * Send a message to a specified channel with a priority.
+     * Critical messages are sent before all others, bulk messages are delayed or dropped while Discord is rate limiting the bot.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     */
+    default void sendMessage(long channelId, String message, Priority priority) {
+        sendMessage(Snowflake.of(channelId), message, priority);
+    }
+
+    /**
+     * Send a message to a specified channel when the returned Mono is subscribed to.
+     * Unlike {@link #sendMessage(String, String)}, the message is not merged with other messages.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     */
+    default Mono<Snowflake> sendMessageAsync(String channelId, String message) {
+        return sendMessageAsync(channelId, message, Priority.NORMAL);
+    }
+
+    /**
+     * Send a message to a specified channel when the returned Mono is subscribed to.
+     * Unlike {@link #sendMessage(Snowflake, String)}, the message is not merged with other messages.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     */
+    default Mono<Snowflake> sendMessageAsync(Snowflake channelId, String message) {
+        return sendMessageAsync(channelId, message, Priority.NORMAL);
+    }
+
+    /**
+     * Send a message to a specified channel when the returned Mono is subscribed to.
+     * Unlike {@link #sendMessage(long, String)}, the message is not merged with other messages.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     */
+    default Mono<Snowflake> sendMessageAsync(long channelId, String message) {
+        return sendMessageAsync(Snowflake.of(channelId), message, Priority.NORMAL);
+    }
+
+    /**
+     * Send a message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     * or the bulk message was dropped
+     */
+    Mono<Snowflake> sendMessageAsync(String channelId, String message, Priority priority);
+
+    /**
+     * Send a message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     * or the bulk message was dropped
+     */
+    Mono<Snowflake> sendMessageAsync(Snowflake channelId, String message, Priority priority);
+
+    /**
+     * Send a message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     * or the bulk message was dropped
+     */
+    default Mono<Snowflake> sendMessageAsync(long channelId, String message, Priority priority) {
+        return sendMessageAsync(Snowflake.of(channelId), message, priority);
+    }
+
     /**
      * Send an embed message to a specified channel.
      *
@@ -45,14 +192,255 @@ public interface DiscordAPI {
      */
     void sendEmbedMessage(String channelId, EmbedCreateSpec embedCreateSpec);
 
+    /**
+     * Send an embed message to a specified channel.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     */
+    void sendEmbedMessage(Snowflake channelId, EmbedCreateSpec embedCreateSpec);
+
+    /**
+     * Send an embed message to a specified channel.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     */
+    default void sendEmbedMessage(long channelId, EmbedCreateSpec embedCreateSpec) {
+        sendEmbedMessage(Snowflake.of(channelId), embedCreateSpec);
+    }
+
+    /**
+     * Send an embed message to a specified channel with a priority.
+     * Critical messages are sent before all others, bulk messages are delayed or dropped while Discord is rate limiting the bot.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     */
+    void sendEmbedMessage(String channelId, EmbedCreateSpec embedCreateSpec, Priority priority);
+
+    /**
+     * Send an embed message to a specified channel with a priority.
+     * Critical messages are sent before all others, bulk messages are delayed or dropped while Discord is rate limiting the bot.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     */
+    void sendEmbedMessage(Snowflake channelId, EmbedCreateSpec embedCreateSpec, Priority priority);
+
+    /**
+     * Send an embed message to a specified channel with a priority.
+     * Critical messages are sent before all others, bulk messages are delayed or dropped while Discord is rate limiting the bot.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     */
+    default void sendEmbedMessage(long channelId, EmbedCreateSpec embedCreateSpec, Priority priority) {
+        sendEmbedMessage(Snowflake.of(channelId), embedCreateSpec, priority);
+    }
+
+    /**
+     * Send an embed message to a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     */
+    default Mono<Snowflake> sendEmbedMessageAsync(String channelId, EmbedCreateSpec embedCreateSpec) {
+        return sendEmbedMessageAsync(channelId, embedCreateSpec, Priority.NORMAL);
+    }
+
+    /**
+     * Send an embed message to a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     */
+    default Mono<Snowflake> sendEmbedMessageAsync(Snowflake channelId, EmbedCreateSpec embedCreateSpec) {
+        return sendEmbedMessageAsync(channelId, embedCreateSpec, Priority.NORMAL);
+    }
+
+    /**
+     * Send an embed message to a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     */
+    default Mono<Snowflake> sendEmbedMessageAsync(long channelId, EmbedCreateSpec embedCreateSpec) {
+        return sendEmbedMessageAsync(Snowflake.of(channelId), embedCreateSpec, Priority.NORMAL);
+    }
+
+    /**
+     * Send an embed message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     * or the bulk message was dropped
+     */
+    Mono<Snowflake> sendEmbedMessageAsync(String channelId, EmbedCreateSpec embedCreateSpec, Priority priority);
+
+    /**
+     * Send an embed message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     * or the bulk message was dropped
+     */
+    Mono<Snowflake> sendEmbedMessageAsync(Snowflake channelId, EmbedCreateSpec embedCreateSpec, Priority priority);
+
+    /**
+     * Send an embed message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     * @return a Mono emitting the ID of the created message, or empty if the channel is not a message channel
+     * or the bulk message was dropped
+     */
+    default Mono<Snowflake> sendEmbedMessageAsync(long channelId, EmbedCreateSpec embedCreateSpec, Priority priority) {
+        return sendEmbedMessageAsync(Snowflake.of(channelId), embedCreateSpec, priority);
+    }
+
     /**
      * Send a message to a specified webhook.
+     * Webhooks are executed without the bot token, so they also work while the gateway is not connected.
      *
      * @param webhookUrl         The URL of the webhook
      * @param webhookExecuteSpec The WebhookExecuteSpec containing the message or embed to send
      */
     void sendWebhook(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec);
 
+    /**
+     * Send a message to a specified webhook with a priority.
+     *
+     * @param webhookUrl         The URL of the webhook
+     * @param webhookExecuteSpec The WebhookExecuteSpec containing the message or embed to send
+     * @param priority           priority of the message
+     */
+    void sendWebhook(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec, Priority priority);
+
+    /**
+     * Send a message to a specified webhook when the returned Mono is subscribed to.
+     *
+     * @param webhookUrl         The URL of the webhook
+     * @param webhookExecuteSpec The WebhookExecuteSpec containing the message or embed to send
+     * @return a Mono emitting the ID of the created message, or an error if the URL is invalid
+     */
+    default Mono<Snowflake> sendWebhookAsync(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec) {
+        return sendWebhookAsync(webhookUrl, webhookExecuteSpec, Priority.NORMAL);
+    }
+
+    /**
+     * Send a message to a specified webhook with a priority when the returned Mono is subscribed to.
+     *
+     * @param webhookUrl         The URL of the webhook
+     * @param webhookExecuteSpec The WebhookExecuteSpec containing the message or embed to send
+     * @param priority           priority of the message
+     * @return a Mono emitting the ID of the created message, or an error if the URL is invalid
+     */
+    Mono<Snowflake> sendWebhookAsync(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec, Priority priority);
+
+    /**
+     * Send a file as an attachment to a specified channel.
+     * The file is streamed from disk, files over the upload limit are split or rejected according to {@code files.oversized}.
+     *
+     * @param channelId ID of the channel where to send the file
+     * @param file      the file to send
+     */
+    void sendFile(String channelId, Path file);
+
+    /**
+     * Send a file as an attachment to a specified channel.
+     * The file is streamed from disk, files over the upload limit are split or rejected according to {@code files.oversized}.
+     *
+     * @param channelId ID of the channel where to send the file
+     * @param file      the file to send
+     */
+    void sendFile(Snowflake channelId, Path file);
+
+    /**
+     * Send a file as an attachment to a specified channel.
+     * The file is streamed from disk, files over the upload limit are split or rejected according to {@code files.oversized}.
+     *
+     * @param channelId ID of the channel where to send the file
+     * @param file      the file to send
+     */
+    default void sendFile(long channelId, Path file) {
+        sendFile(Snowflake.of(channelId), file);
+    }
+
+    /**
+     * Send files as attachments to a specified channel when the returned Flux is subscribed to.
+     * The files are streamed from disk and sent with as few messages as the upload limit allows.
+     *
+     * @param channelId ID of the channel where to send the files
+     * @param message   text of the first message or {@code null}
+     * @param files     the files to send
+     * @param gzip      whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages, or an error if a file cannot be read
+     * or is over the upload limit and is not split
+     */
+    Flux<Snowflake> sendFiles(String channelId, String message, List<Path> files, boolean gzip);
+
+    /**
+     * Send files as attachments to a specified channel when the returned Flux is subscribed to.
+     * The files are streamed from disk and sent with as few messages as the upload limit allows.
+     *
+     * @param channelId ID of the channel where to send the files
+     * @param message   text of the first message or {@code null}
+     * @param files     the files to send
+     * @param gzip      whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages, or an error if a file cannot be read
+     * or is over the upload limit and is not split
+     */
+    Flux<Snowflake> sendFiles(Snowflake channelId, String message, List<Path> files, boolean gzip);
+
+    /**
+     * Send files as attachments to a specified channel when the returned Flux is subscribed to.
+     * The files are streamed from disk and sent with as few messages as the upload limit allows.
+     *
+     * @param channelId ID of the channel where to send the files
+     * @param message   text of the first message or {@code null}
+     * @param files     the files to send
+     * @param gzip      whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages, or an error if a file cannot be read
+     * or is over the upload limit and is not split
+     */
+    default Flux<Snowflake> sendFiles(long channelId, String message, List<Path> files, boolean gzip) {
+        return sendFiles(Snowflake.of(channelId), message, files, gzip);
+    }
+
+    /**
+     * Send a file as an attachment to a specified webhook.
+     * The file is streamed from disk, files over the upload limit are split or rejected according to {@code files.oversized}.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @param file       the file to send
+     */
+    void sendWebhookFile(String webhookUrl, Path file);
+
+    /**
+     * Send files as attachments to a specified webhook when the returned Flux is subscribed to.
+     * The files are streamed from disk and sent with as few messages as the upload limit allows.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @param message    text of the first message or {@code null}
+     * @param files      the files to send
+     * @param gzip       whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages, or an error if the URL is invalid, a file cannot be read
+     * or is over the upload limit and is not split
+     */
+    Flux<Snowflake> sendWebhookFiles(String webhookUrl, String message, List<Path> files, boolean gzip);
+
     /**
      * Deletes a message in a specified channel.
      *
@@ -61,6 +449,153 @@ public interface DiscordAPI {
      */
     void deleteMessage(String channelId, String messageId);
 
+    /**
+     * Deletes a message in a specified channel.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to be deleted
+     */
+    void deleteMessage(Snowflake channelId, Snowflake messageId);
+
+    /**
+     * Deletes a message in a specified channel.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to be deleted
+     */
+    default void deleteMessage(long channelId, long messageId) {
+        deleteMessage(Snowflake.of(channelId), Snowflake.of(messageId));
+    }
+
+    /**
+     * Deletes a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to be deleted
+     * @return a Mono completing when the message is deleted
+     */
+    Mono<Void> deleteMessageAsync(String channelId, String messageId);
+
+    /**
+     * Deletes a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to be deleted
+     * @return a Mono completing when the message is deleted
+     */
+    Mono<Void> deleteMessageAsync(Snowflake channelId, Snowflake messageId);
+
+    /**
+     * Deletes a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to be deleted
+     * @return a Mono completing when the message is deleted
+     */
+    default Mono<Void> deleteMessageAsync(long channelId, long messageId) {
+        return deleteMessageAsync(Snowflake.of(channelId), Snowflake.of(messageId));
+    }
+
+    /**
+     * Deletes several messages in a specified channel.
+     * Messages are deleted by bulk-delete requests of up to 100 messages, messages older than 14 days are deleted one by one.
+     * All messages are deleted by the primary bot, which needs the {@code MANAGE_MESSAGES} permission in the channel.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages to be deleted
+     * @return a Flux emitting the result of every message as it is deleted or fails
+     */
+    Flux<DeleteResult> deleteMessages(String channelId, Collection<String> messageIds);
+
+    /**
+     * Deletes several messages in a specified channel.
+     * Messages are deleted by bulk-delete requests of up to 100 messages, messages older than 14 days are deleted one by one.
+     * All messages are deleted by the primary bot, which needs the {@code MANAGE_MESSAGES} permission in the channel.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages to be deleted
+     * @return a Flux emitting the result of every message as it is deleted or fails
+     */
+    Flux<DeleteResult> deleteMessages(Snowflake channelId, Collection<Snowflake> messageIds);
+
+    /**
+     * Deletes several messages in a specified channel.
+     * Messages are deleted by bulk-delete requests of up to 100 messages, messages older than 14 days are deleted one by one.
+     * All messages are deleted by the primary bot, which needs the {@code MANAGE_MESSAGES} permission in the channel.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages to be deleted
+     * @return a Flux emitting the result of every message as it is deleted or fails
+     */
+    default Flux<DeleteResult> deleteMessages(long channelId, Collection<Long> messageIds) {
+        List<Snowflake> ids = new ArrayList<>(messageIds.size());
+        for (long messageId : messageIds) {
+            ids.add(Snowflake.of(messageId));
+        }
+        return deleteMessages(Snowflake.of(channelId), ids);
+    }
+
+    /**
+     * Deletes the recent messages of a specified channel matching a filter, in the same way as {@link #deleteMessages}.
+     *
+     * @param channelId the ID of the channel to clean up
+     * @param limit     the number of most recent messages to check
+     * @param filter    the filter of messages to be deleted, e.g. {@code message -> message.getAuthor().isPresent()}
+     * @return a Flux emitting the result of every matching message as it is deleted or fails
+     */
+    Flux<DeleteResult> purge(String channelId, int limit, Predicate<Message> filter);
+
+    /**
+     * Deletes the recent messages of a specified channel matching a filter, in the same way as {@link #deleteMessages}.
+     *
+     * @param channelId the ID of the channel to clean up
+     * @param limit     the number of most recent messages to check
+     * @param filter    the filter of messages to be deleted, e.g. {@code message -> message.getAuthor().isPresent()}
+     * @return a Flux emitting the result of every matching message as it is deleted or fails
+     */
+    Flux<DeleteResult> purge(Snowflake channelId, int limit, Predicate<Message> filter);
+
+    /**
+     * Deletes the recent messages of a specified channel matching a filter, in the same way as {@link #deleteMessages}.
+     *
+     * @param channelId the ID of the channel to clean up
+     * @param limit     the number of most recent messages to check
+     * @param filter    the filter of messages to be deleted, e.g. {@code message -> message.getAuthor().isPresent()}
+     * @return a Flux emitting the result of every matching message as it is deleted or fails
+     */
+    default Flux<DeleteResult> purge(long channelId, int limit, Predicate<Message> filter) {
+        return purge(Snowflake.of(channelId), limit, filter);
+    }
+
+    /**
+     * Creates a message that is posted once and then edited in place, for status feeds and event logs.
+     * Updates are sent at most once per {@code liveMessage.editInterval}, unchanged content is not sent again.
+     *
+     * @param channelId the ID of the channel where to post the message
+     * @return the live message, posted on its first update
+     */
+    LiveMessage createLiveMessage(String channelId);
+
+    /**
+     * Creates a message that is posted once and then edited in place, for status feeds and event logs.
+     * Updates are sent at most once per {@code liveMessage.editInterval}, unchanged content is not sent again.
+     *
+     * @param channelId the ID of the channel where to post the message
+     * @return the live message, posted on its first update
+     */
+    LiveMessage createLiveMessage(Snowflake channelId);
+
+    /**
+     * Creates a message that is posted once and then edited in place, for status feeds and event logs.
+     * Updates are sent at most once per {@code liveMessage.editInterval}, unchanged content is not sent again.
+     *
+     * @param channelId the ID of the channel where to post the message
+     * @return the live message, posted on its first update
+     */
+    default LiveMessage createLiveMessage(long channelId) {
+        return createLiveMessage(Snowflake.of(channelId));
+    }
+
     /**
      * Edits a message in a specified channel.
      *
@@ -70,6 +605,58 @@ public interface DiscordAPI {
      */
     void editMessage(String channelId, String messageId, MessageEditSpec messageEditSpec);
 
+    /**
+     * Edits a message in a specified channel.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     */
+    void editMessage(Snowflake channelId, Snowflake messageId, MessageEditSpec messageEditSpec);
+
+    /**
+     * Edits a message in a specified channel.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     */
+    default void editMessage(long channelId, long messageId, MessageEditSpec messageEditSpec) {
+        editMessage(Snowflake.of(channelId), Snowflake.of(messageId), messageEditSpec);
+    }
+
+    /**
+     * Edits a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     * @return a Mono emitting the ID of the edited message
+     */
+    Mono<Snowflake> editMessageAsync(String channelId, String messageId, MessageEditSpec messageEditSpec);
+
+    /**
+     * Edits a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     * @return a Mono emitting the ID of the edited message
+     */
+    Mono<Snowflake> editMessageAsync(Snowflake channelId, Snowflake messageId, MessageEditSpec messageEditSpec);
+
+    /**
+     * Edits a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     * @return a Mono emitting the ID of the edited message
+     */
+    default Mono<Snowflake> editMessageAsync(long channelId, long messageId, MessageEditSpec messageEditSpec) {
+        return editMessageAsync(Snowflake.of(channelId), Snowflake.of(messageId), messageEditSpec);
+    }
+
     /**
      * Gets information about a user by ID.
      *
@@ -78,6 +665,32 @@ public interface DiscordAPI {
      */
     Mono<User> getUserById(String userId);
 
+    /**
+     * Gets information about a user by ID.
+     *
+     * @param userId the ID of the user to retrieve
+     * @return a Mono emitting the User object
+     */
+    Mono<User> getUserById(Snowflake userId);
+
+    /**
+     * Gets information about a user by ID.
+     *
+     * @param userId the ID of the user to retrieve
+     * @return a Mono emitting the User object
+     */
+    default Mono<User> getUserById(long userId) {
+        return getUserById(Snowflake.of(userId));
+    }
+
+    /**
+     * Gets information about several users by ID. Cached users are resolved locally, the others are fetched.
+     *
+     * @param userIds the IDs of the users to retrieve
+     * @return a Flux emitting the User objects that could be retrieved, in no particular order
+     */
+    Flux<User> getUsersByIds(Collection<Snowflake> userIds);
+
     /**
      * Gets information about a channel by ID.
      *
@@ -86,6 +699,24 @@ public interface DiscordAPI {
      */
     Mono<Channel> getChannelById(String channelId);
 
+    /**
+     * Gets information about a channel by ID.
+     *
+     * @param channelId the ID of the channel to retrieve
+     * @return a Mono emitting the Channel object
+     */
+    Mono<Channel> getChannelById(Snowflake channelId);
+
+    /**
+     * Gets information about a channel by ID.
+     *
+     * @param channelId the ID of the channel to retrieve
+     * @return a Mono emitting the Channel object
+     */
+    default Mono<Channel> getChannelById(long channelId) {
+        return getChannelById(Snowflake.of(channelId));
+    }
+
     /**
      * Adds a reaction to a specified message.
      *
@@ -95,6 +726,58 @@ public interface DiscordAPI {
      */
     void addReaction(String channelId, String messageId, String emoji);
 
+    /**
+     * Adds a reaction to a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     */
+    void addReaction(Snowflake channelId, Snowflake messageId, String emoji);
+
+    /**
+     * Adds a reaction to a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     */
+    default void addReaction(long channelId, long messageId, String emoji) {
+        addReaction(Snowflake.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Adds a reaction to a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     * @return a Mono completing when the reaction is added
+     */
+    Mono<Void> addReactionAsync(String channelId, String messageId, String emoji);
+
+    /**
+     * Adds a reaction to a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     * @return a Mono completing when the reaction is added
+     */
+    Mono<Void> addReactionAsync(Snowflake channelId, Snowflake messageId, String emoji);
+
+    /**
+     * Adds a reaction to a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     * @return a Mono completing when the reaction is added
+     */
+    default Mono<Void> addReactionAsync(long channelId, long messageId, String emoji) {
+        return addReactionAsync(Snowflake.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
     /**
      * Removes a reaction from a specified message.
      *
@@ -105,6 +788,63 @@ public interface DiscordAPI {
      */
     void removeReaction(String channelId, String messageId, String userId, String emoji);
 
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove
+     */
+    void removeReaction(Snowflake channelId, Snowflake messageId, Snowflake userId, String emoji);
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove
+     */
+    default void removeReaction(long channelId, long messageId, long userId, String emoji) {
+        removeReaction(Snowflake.of(channelId), Snowflake.of(messageId), Snowflake.of(userId), emoji);
+    }
+
+    /**
+     * Removes a reaction from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove
+     * @return a Mono completing when the reaction is removed
+     */
+    Mono<Void> removeReactionAsync(String channelId, String messageId, String userId, String emoji);
+
+    /**
+     * Removes a reaction from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove
+     * @return a Mono completing when the reaction is removed
+     */
+    Mono<Void> removeReactionAsync(Snowflake channelId, Snowflake messageId, Snowflake userId, String emoji);
+
+    /**
+     * Removes a reaction from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove
+     * @return a Mono completing when the reaction is removed
+     */
+    default Mono<Void> removeReactionAsync(long channelId, long messageId, long userId, String emoji) {
+        return removeReactionAsync(Snowflake.of(channelId), Snowflake.of(messageId), Snowflake.of(userId), emoji);
+    }
+
     /**
      * Removes a reaction from a specified message.
      *
@@ -113,4 +853,77 @@ public interface DiscordAPI {
      * @param emoji     the emoji to remove
      */
     void removeReaction(String channelId, String messageId, String emoji);
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove
+     */
+    void removeReaction(Snowflake channelId, Snowflake messageId, String emoji);
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove
+     */
+    default void removeReaction(long channelId, long messageId, String emoji) {
+        removeReaction(Snowflake.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Removes the reaction of the bot from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove
+     * @return a Mono completing when the reaction is removed
+     */
+    Mono<Void> removeReactionAsync(String channelId, String messageId, String emoji);
+
+    /**
+     * Removes the reaction of the bot from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove
+     * @return a Mono completing when the reaction is removed
+     */
+    Mono<Void> removeReactionAsync(Snowflake channelId, Snowflake messageId, String emoji);
+
+    /**
+     * Removes the reaction of the bot from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove
+     * @return a Mono completing when the reaction is removed
+     */
+    default Mono<Void> removeReactionAsync(long channelId, long messageId, String emoji) {
+        return removeReactionAsync(Snowflake.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Executes many operations, e.g. the async variants of the methods above, with the configured
+     * number of operations in flight ({@code batch.concurrency}).
+     *
+     * @param operations operations to execute
+     * @param <T>        type of the operation results
+     * @return a Flux emitting the result of every operation in the order of the operations
+     */
+    <T> Flux<BatchResult<T>> executeBatch(List<? extends Mono<? extends T>> operations);
+
+    /**
+     * Executes many operations, e.g. the async variants of the methods above, with at most
+     * {@code concurrency} operations in flight. A failed operation does not stop the others.
+     *
+     * @param operations  operations to execute
+     * @param concurrency maximum number of operations in flight
+     * @param <T>         type of the operation results
+     * @return a Flux emitting the result of every operation in the order of the operations
+     */
+    <T> Flux<BatchResult<T>> executeBatch(List<? extends Mono<? extends T>> operations, int concurrency);
 }
\ No newline at end of file
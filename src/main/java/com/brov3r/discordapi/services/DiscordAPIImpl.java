@@ -1,6 +1,15 @@
 package com.brov3r.discordapi.services;
 
+import com.avrix.utils.YamlFile;
 import com.brov3r.discordapi.Main;
+import com.brov3r.discordapi.metrics.Metrics;
+import com.brov3r.discordapi.metrics.OperationMetrics;
+import com.brov3r.discordapi.utils.ExpiringCache;
+import com.brov3r.discordapi.utils.SnowflakeCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import discord4j.common.JacksonResources;
 import discord4j.common.util.Snowflake;
 import discord4j.core.DiscordClient;
 import discord4j.core.GatewayDiscordClient;
@@ -10,14 +19,222 @@ import discord4j.core.object.entity.channel.Channel;
 import discord4j.core.object.entity.channel.MessageChannel;
 import discord4j.core.object.reaction.ReactionEmoji;
 import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.core.spec.MessageCreateSpec;
 import discord4j.core.spec.MessageEditSpec;
 import discord4j.core.spec.WebhookExecuteSpec;
+import discord4j.core.util.EntityUtil;
+import discord4j.discordjson.json.BulkDeleteRequest;
+import discord4j.discordjson.json.MessageCreateRequest;
+import discord4j.discordjson.json.MessageData;
+import discord4j.discordjson.json.WebhookExecuteRequest;
+import discord4j.rest.RestClient;
+import discord4j.rest.RestClientBuilder;
+import discord4j.rest.http.client.ClientException;
+import discord4j.rest.route.Routes;
+import discord4j.rest.util.MultipartRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Implementing {@link DiscordAPI} interface methods
  */
 public class DiscordAPIImpl implements DiscordAPI {
+    private static final int MAX_CACHED_WEBHOOKS = 256;
+    private static final int MAX_BULK_DELETE = 100;
+    // Slightly less than the 14 days allowed by Discord, so that messages do not age out while a request is in flight
+    private static final Duration MAX_BULK_DELETE_AGE = Duration.ofDays(14).minusMinutes(5);
+    // Recorded messages carry a nonce, so sending them again after a transient failure does not post them twice
+    private static final Retry RECORDED_RETRY = Retry.backoff(5, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30))
+            .filter(error -> !isPermanentFailure(error))
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+    private final YamlFile config;
+    private final Map<String, WebhookHandle> webhooks = new ConcurrentHashMap<>();
+    private final RestClient webhookClient;
+    private final ExpiringCache<Snowflake, MessageChannel> channelCache;
+    private final ExpiringCache<Snowflake, User> userCache;
+    private final MessageQueue messageQueue;
+    private final MessageQueue bulkMessageQueue;
+    private final OutboundScheduler scheduler;
+    private final BlockingQueue<Runnable> pending;
+    private final OutboundJournal journal;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper mapper = JacksonResources.create().getObjectMapper();
+    private final Duration readTimeout;
+    private final long maxUploadSize;
+    private final boolean splitOversizedFiles;
+
+    private final OperationMetrics sendMessageMetrics = Metrics.operation("sendMessage");
+    private final OperationMetrics sendEmbedMessageMetrics = Metrics.operation("sendEmbedMessage");
+    private final OperationMetrics sendWebhookMetrics = Metrics.operation("sendWebhook");
+    private final OperationMetrics sendFilesMetrics = Metrics.operation("sendFiles");
+    private final OperationMetrics deleteMessageMetrics = Metrics.operation("deleteMessage");
+    private final OperationMetrics deleteMessagesMetrics = Metrics.operation("deleteMessages");
+    private final OperationMetrics editMessageMetrics = Metrics.operation("editMessage");
+    private final OperationMetrics getUserByIdMetrics = Metrics.operation("getUserById");
+    private final OperationMetrics getChannelByIdMetrics = Metrics.operation("getChannelById");
+    private final OperationMetrics addReactionMetrics = Metrics.operation("addReaction");
+    private final OperationMetrics removeReactionMetrics = Metrics.operation("removeReaction");
+
+    /**
+     * Constructs the Discord API implementation.
+     *
+     * @param config configuration of the plugin
+     */
+    public DiscordAPIImpl(YamlFile config) {
+        this.config = config;
+
+        webhookClient = RestClientBuilder.createRestApplication()
+                .setReactorResources(Metrics.createReactorResources())
+                .setExtraOptions(options -> Main.withApiBaseUrl(options, config.getString("apiBaseUrl")))
+                .build();
+
+        pending = new ArrayBlockingQueue<>(Math.max(config.getInt("reconnect.bufferSize"), 1));
+
+        channelCache = new ExpiringCache<>(
+                config.getInt("channelCache.maxSize"),
+                Duration.ofSeconds(config.getInt("channelCache.ttl")));
+
+        userCache = new ExpiringCache<>(
+                config.getInt("userCache.maxSize"),
+                Duration.ofSeconds(config.getInt("userCache.ttl")));
+
+        journal = config.getBoolean("journal.enabled") ? openJournal() : null;
+
+        readTimeout = Duration.ofSeconds(Math.max(config.getInt("reconnect.readTimeout"), 1));
+        maxUploadSize = Math.max(config.getInt("files.maxUploadSize"), 1) * 1024L;
+        splitOversizedFiles = !"REJECT".equalsIgnoreCase(config.getString("files.oversized"));
+
+        int ratePerSecond = config.getInt("outbound.ratePerSecond");
+        scheduler = new OutboundScheduler(
+                () -> ratePerSecond * (Main.getClientPool() == null ? 1 : Main.getClientPool().size()),
+                config.getInt("outbound.normalShare") / 100.0,
+                config.getInt("outbound.bulkShare") / 100.0,
+                config.getInt("outbound.bulkQueueSize"),
+                Duration.ofSeconds(config.getInt("outbound.bulkBackoff")));
+
+        if (config.getBoolean("messageQueue.enabled")) {
+            messageQueue = createMessageQueue(Priority.NORMAL);
+            bulkMessageQueue = createMessageQueue(Priority.BULK);
+        } else {
+            messageQueue = null;
+            bulkMessageQueue = null;
+        }
+    }
+
+    /**
+     * Creates the queue merging text messages of a priority.
+     *
+     * @param priority priority of the merged messages
+     * @return message queue
+     */
+    private MessageQueue createMessageQueue(Priority priority) {
+        return new MessageQueue(
+                (channelId, content) -> {
+                    MessageCreateSpec spec = MessageCreateSpec.builder().content(content).build();
+                    return sendMessageMetrics.time(dispatch(channelId, spec, priority));
+                },
+                Duration.ofMillis(config.getInt("messageQueue.flushWindow")),
+                config.getInt("messageQueue.maxMessageLength"));
+    }
+
+    /**
+     * Opens the outbound journal configured by {@code journal.path}.
+     *
+     * @return the journal or {@code null} if it cannot be opened
+     */
+    private OutboundJournal openJournal() {
+        try {
+            OutboundJournal opened = new OutboundJournal(Paths.get(config.getString("journal.path")),
+                    config.getInt("journal.maxSize") * 1024);
+
+            if (opened.getPendingCount() > 0) {
+                System.out.printf("[#] Found %d unsent Discord messages in the outbound journal, they will be sent once the bot is ready%n",
+                        opened.getPendingCount());
+            }
+            return opened;
+        } catch (IOException e) {
+            System.out.println("[!] Failed to open the Discord outbound journal, messages will not be recorded: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Getting the outbound journal
+     *
+     * @return outbound journal or {@code null} if the journal is disabled
+     */
+    public OutboundJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Getting the cache of resolved message channels
+     *
+     * @return cache of resolved message channels
+     */
+    public ExpiringCache<Snowflake, MessageChannel> getChannelCache() {
+        return channelCache;
+    }
+
+    /**
+     * Getting the cache of retrieved users
+     *
+     * @return cache of retrieved users
+     */
+    public ExpiringCache<Snowflake, User> getUserCache() {
+        return userCache;
+    }
+
+    /**
+     * Getting the outbound message queue
+     *
+     * @return outbound message queue or {@code null} if message merging is disabled
+     */
+    public MessageQueue getMessageQueue() {
+        return messageQueue;
+    }
+
+    /**
+     * Getting the outbound message queue of bulk messages
+     *
+     * @return bulk message queue or {@code null} if message merging is disabled
+     */
+    public MessageQueue getBulkMessageQueue() {
+        return bulkMessageQueue;
+    }
+
+    /**
+     * Getting the scheduler of outbound requests
+     *
+     * @return outbound scheduler
+     */
+    public OutboundScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * Retrieves the {@link GatewayDiscordClient} instance.
      *
@@ -38,6 +255,26 @@ public class DiscordAPIImpl implements DiscordAPI {
         return Main.getClient();
     }
 
+    /**
+     * Checks whether the bot is connected and requests are sent immediately.
+     *
+     * @return {@code true} if the bot is ready
+     */
+    @Override
+    public boolean isReady() {
+        return Main.isReady();
+    }
+
+    /**
+     * Getting a signal of the bot readiness.
+     *
+     * @return a Mono emitting the gateway once the bot is connected
+     */
+    @Override
+    public Mono<GatewayDiscordClient> whenReady() {
+        return Main.whenReady();
+    }
+
     /**
      * Send a message to a specified channel.
      *
@@ -46,15 +283,82 @@ public class DiscordAPIImpl implements DiscordAPI {
      */
     @Override
     public void sendMessage(String channelId, String message) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
+        sendMessage(SnowflakeCache.of(channelId), message);
+    }
+
+    /**
+     * Send a message to a specified channel.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     */
+    @Override
+    public void sendMessage(Snowflake channelId, String message) {
+        sendMessage(channelId, message, Priority.NORMAL);
+    }
+
+    /**
+     * Send a message to a specified channel with a priority.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     */
+    @Override
+    public void sendMessage(String channelId, String message, Priority priority) {
+        sendMessage(SnowflakeCache.of(channelId), message, priority);
+    }
+
+    /**
+     * Send a message to a specified channel with a priority.
+     * Critical messages are sent right away, others are merged by the message queue of their priority.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     */
+    @Override
+    public void sendMessage(Snowflake channelId, String message, Priority priority) {
+        MessageQueue queue = priority == Priority.BULK ? bulkMessageQueue : priority == Priority.NORMAL ? messageQueue : null;
+
+        if (queue != null) {
+            // Recorded messages wait for the bot themselves, so they are journaled as soon as the queue flushes
+            if (journal != null) {
+                queue.enqueue(channelId, message);
+            } else {
+                runWhenReady(() -> queue.enqueue(channelId, message));
+            }
             return;
         }
 
-        getGateway().getChannelById(Snowflake.of(channelId))
-                .ofType(MessageChannel.class)
-                .flatMap(channel -> channel.createMessage(message))
-                .subscribe();
+        send(channelId, MessageCreateSpec.builder().content(message).build(), sendMessageMetrics, priority);
+    }
+
+    /**
+     * Send a message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     * @return a Mono emitting the ID of the created message
+     */
+    @Override
+    public Mono<Snowflake> sendMessageAsync(String channelId, String message, Priority priority) {
+        return sendMessageAsync(SnowflakeCache.of(channelId), message, priority);
+    }
+
+    /**
+     * Send a message to a specified channel with a priority when the returned Mono is subscribed to.
+     * The message bypasses the message queue, so that it is a message of its own.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     * @param priority  priority of the message
+     * @return a Mono emitting the ID of the created message
+     */
+    @Override
+    public Mono<Snowflake> sendMessageAsync(Snowflake channelId, String message, Priority priority) {
+        return sendAsync(channelId, MessageCreateSpec.builder().content(message).build(), sendMessageMetrics, priority);
     }
 
     /**
@@ -65,15 +369,68 @@ public class DiscordAPIImpl implements DiscordAPI {
      */
     @Override
     public void sendEmbedMessage(String channelId, EmbedCreateSpec embedCreateSpec) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
-        }
+        sendEmbedMessage(SnowflakeCache.of(channelId), embedCreateSpec);
+    }
 
-        getGateway().getChannelById(Snowflake.of(channelId))
-                .ofType(MessageChannel.class)
-                .flatMap(channel -> channel.createMessage(embedCreateSpec))
-                .subscribe();
+    /**
+     * Send an embed message to a specified channel.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     */
+    @Override
+    public void sendEmbedMessage(Snowflake channelId, EmbedCreateSpec embedCreateSpec) {
+        sendEmbedMessage(channelId, embedCreateSpec, Priority.NORMAL);
+    }
+
+    /**
+     * Send an embed message to a specified channel with a priority.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     */
+    @Override
+    public void sendEmbedMessage(String channelId, EmbedCreateSpec embedCreateSpec, Priority priority) {
+        sendEmbedMessage(SnowflakeCache.of(channelId), embedCreateSpec, priority);
+    }
+
+    /**
+     * Send an embed message to a specified channel with a priority.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     */
+    @Override
+    public void sendEmbedMessage(Snowflake channelId, EmbedCreateSpec embedCreateSpec, Priority priority) {
+        send(channelId, MessageCreateSpec.builder().addEmbed(embedCreateSpec).build(), sendEmbedMessageMetrics, priority);
+    }
+
+    /**
+     * Send an embed message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     * @return a Mono emitting the ID of the created message
+     */
+    @Override
+    public Mono<Snowflake> sendEmbedMessageAsync(String channelId, EmbedCreateSpec embedCreateSpec, Priority priority) {
+        return sendEmbedMessageAsync(SnowflakeCache.of(channelId), embedCreateSpec, priority);
+    }
+
+    /**
+     * Send an embed message to a specified channel with a priority when the returned Mono is subscribed to.
+     *
+     * @param channelId       ID of the channel where to send the embed
+     * @param embedCreateSpec The embed to send
+     * @param priority        priority of the message
+     * @return a Mono emitting the ID of the created message
+     */
+    @Override
+    public Mono<Snowflake> sendEmbedMessageAsync(Snowflake channelId, EmbedCreateSpec embedCreateSpec, Priority priority) {
+        return sendAsync(channelId, MessageCreateSpec.builder().addEmbed(embedCreateSpec).build(), sendEmbedMessageMetrics, priority);
     }
 
     /**
@@ -84,154 +441,1013 @@ public class DiscordAPIImpl implements DiscordAPI {
      */
     @Override
     public void sendWebhook(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
-        }
+        sendWebhook(webhookUrl, webhookExecuteSpec, Priority.NORMAL);
+    }
+
+    /**
+     * Send a message to a specified webhook with a priority.
+     *
+     * @param webhookUrl         The URL of the webhook
+     * @param webhookExecuteSpec The WebhookExecuteSpec containing the message or embed to send
+     * @param priority           priority of the message
+     */
+    @Override
+    public void sendWebhook(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec, Priority priority) {
+        WebhookHandle webhook = getWebhook(webhookUrl);
 
-        if (webhookUrl.isEmpty()) {
+        if (webhook == null) {
             System.out.println("[!] Invalid WebHook URL: " + webhookUrl);
             return;
         }
 
-        String[] parts = webhookUrl.split("/");
+        sendWebhookMetrics.time(scheduler.schedule(priority, webhookClient.getWebhookService()
+                        .executeWebhook(webhook.getId(), webhook.getToken(), false, webhookExecuteSpec.asRequest())))
+                .subscribe();
+    }
 
-        if (parts.length < 7) {
-            System.out.println("[!] Invalid WebHook URL: " + webhookUrl);
-            return;
-        }
+    /**
+     * Send a message to a specified webhook with a priority when the returned Mono is subscribed to.
+     * Discord is asked to wait for the message to be created, so that its ID is known.
+     *
+     * @param webhookUrl         The URL of the webhook
+     * @param webhookExecuteSpec The WebhookExecuteSpec containing the message or embed to send
+     * @param priority           priority of the message
+     * @return a Mono emitting the ID of the created message
+     */
+    @Override
+    public Mono<Snowflake> sendWebhookAsync(String webhookUrl, WebhookExecuteSpec webhookExecuteSpec, Priority priority) {
+        return Mono.defer(() -> {
+            WebhookHandle webhook = getWebhook(webhookUrl);
+            if (webhook == null) return Mono.error(new IllegalArgumentException("Invalid WebHook URL: " + webhookUrl));
 
-        String webhookId = parts[5];
-        String webhookToken = parts[6];
+            return sendWebhookMetrics.time(scheduler.schedule(priority, webhookClient.getWebhookService()
+                    .executeWebhook(webhook.getId(), webhook.getToken(), true, webhookExecuteSpec.asRequest())));
+        }).map(data -> Snowflake.of(data.id()));
+    }
 
-        getGateway().getWebhookByIdWithToken(Snowflake.of(webhookId), webhookToken)
-                .flatMap(hook -> hook.execute(webhookExecuteSpec)).subscribe();
+    /**
+     * Send a file as an attachment to a specified channel.
+     *
+     * @param channelId ID of the channel where to send the file
+     * @param file      the file to send
+     */
+    @Override
+    public void sendFile(String channelId, Path file) {
+        sendFile(SnowflakeCache.of(channelId), file);
     }
 
     /**
-     * Deletes a message in a specified channel.
+     * Send a file as an attachment to a specified channel.
      *
-     * @param channelId the ID of the channel where the message is located
-     * @param messageId the ID of the message to be deleted
+     * @param channelId ID of the channel where to send the file
+     * @param file      the file to send
      */
     @Override
-    public void deleteMessage(String channelId, String messageId) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
-        }
+    public void sendFile(Snowflake channelId, Path file) {
+        runWhenReady(() -> sendFiles(channelId, null, List.of(file), false)
+                .subscribe(null, error -> System.out.printf("[!] Failed to send file '%s' to Discord: %s%n", file, error.getMessage())));
+    }
 
-        getGateway().getMessageById(Snowflake.of(channelId), Snowflake.of(messageId))
-                .flatMap(Message::delete)
-                .subscribe();
+    /**
+     * Send files as attachments to a specified channel when the returned Flux is subscribed to.
+     *
+     * @param channelId ID of the channel where to send the files
+     * @param message   text of the first message or {@code null}
+     * @param files     the files to send
+     * @param gzip      whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages
+     */
+    @Override
+    public Flux<Snowflake> sendFiles(String channelId, String message, List<Path> files, boolean gzip) {
+        return sendFiles(SnowflakeCache.of(channelId), message, files, gzip);
     }
 
     /**
-     * Edits a message in a specified channel.
+     * Send files as attachments to a specified channel when the returned Flux is subscribed to.
+     * Files are not recorded in the outbound journal, as they may have changed by the time they would be replayed.
      *
-     * @param channelId       the ID of the channel where the message is located
-     * @param messageId       the ID of the message to be edited
-     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     * @param channelId ID of the channel where to send the files
+     * @param message   text of the first message or {@code null}
+     * @param files     the files to send
+     * @param gzip      whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages
      */
     @Override
-    public void editMessage(String channelId, String messageId, MessageEditSpec messageEditSpec) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
-        }
+    public Flux<Snowflake> sendFiles(Snowflake channelId, String message, List<Path> files, boolean gzip) {
+        return Main.whenReady().flatMapMany(gateway -> upload(message, files, gzip, (content, attachments) ->
+                getClientPool().execute(channelId,
+                        rest -> rest.getChannelService().createMessage(channelId.asLong(), MultipartRequest.ofRequestAndFiles(
+                                content == null ? MessageCreateRequest.builder().build()
+                                        : MessageCreateRequest.builder().content(content).build(),
+                                attachments)))));
+    }
 
-        getGateway().getMessageById(Snowflake.of(channelId), Snowflake.of(messageId))
-                .flatMap(message -> message.edit(messageEditSpec))
-                .subscribe();
+    /**
+     * Send a file as an attachment to a specified webhook.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @param file       the file to send
+     */
+    @Override
+    public void sendWebhookFile(String webhookUrl, Path file) {
+        sendWebhookFiles(webhookUrl, null, List.of(file), false)
+                .subscribe(null, error -> System.out.printf("[!] Failed to send file '%s' to Discord: %s%n", file, error.getMessage()));
     }
 
     /**
-     * Gets information about a user by ID.
+     * Send files as attachments to a specified webhook when the returned Flux is subscribed to.
      *
-     * @param userId the ID of the user to retrieve
-     * @return a Mono emitting the User object
+     * @param webhookUrl The URL of the webhook
+     * @param message    text of the first message or {@code null}
+     * @param files      the files to send
+     * @param gzip       whether to gzip-compress the files while they are sent
+     * @return a Flux emitting the IDs of the created messages
      */
     @Override
-    public Mono<User> getUserById(String userId) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return Mono.empty();
-        }
+    public Flux<Snowflake> sendWebhookFiles(String webhookUrl, String message, List<Path> files, boolean gzip) {
+        return Flux.defer(() -> {
+            WebhookHandle webhook = getWebhook(webhookUrl);
+            if (webhook == null) return Flux.error(new IllegalArgumentException("Invalid WebHook URL: " + webhookUrl));
 
-        return getGateway().getUserById(Snowflake.of(userId));
+            return upload(message, files, gzip, (content, attachments) -> webhookClient.getWebhookService().executeWebhook(
+                    webhook.getId(), webhook.getToken(), true, MultipartRequest.ofRequestAndFiles(
+                            content == null ? WebhookExecuteRequest.builder().build()
+                                    : WebhookExecuteRequest.builder().content(content).build(),
+                            attachments)));
+        });
     }
 
     /**
-     * Gets information about a channel by ID.
+     * Uploads files with one request per message of the upload, one message after another.
+     * The upload is prepared off the calling thread, as compressing large files reads them completely, and the
+     * attachments of every message are read off the I/O threads of the HTTP client.
      *
-     * @param channelId the ID of the channel to retrieve
-     * @return a Mono emitting the Channel object
+     * @param message text of the first message or {@code null}
+     * @param files   the files to send
+     * @param gzip    whether to gzip-compress the files
+     * @param request function creating the request of a message from its text and attachments
+     * @return a Flux emitting the IDs of the created messages
      */
-    @Override
-    public Mono<Channel> getChannelById(String channelId) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return Mono.empty();
-        }
+    private Flux<Snowflake> upload(String message, List<Path> files, boolean gzip,
+                                   BiFunction<String, List<Tuple2<String, InputStream>>, Mono<MessageData>> request) {
+        return Flux.using(() -> FileUpload.prepare(files, gzip, maxUploadSize, splitOversizedFiles),
+                        upload -> Flux.range(0, upload.getMessageCount())
+                                .concatMap(index -> sendFilesMetrics.time(scheduler.schedule(Priority.NORMAL,
+                                        Mono.fromCallable(() -> upload.open(index))
+                                                .subscribeOn(Schedulers.boundedElastic())
+                                                .flatMap(attachments -> request.apply(index == 0 ? message : null, attachments))))),
+                        FileUpload::close)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(data -> Snowflake.of(data.id()));
+    }
+
+    /**
+     * Getting a parsed webhook from the cache, parsing and caching the URL on the first use.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @return parsed webhook or {@code null} if the URL is invalid
+     */
+    private WebhookHandle getWebhook(String webhookUrl) {
+        if (webhookUrl == null || webhookUrl.isEmpty()) return null;
+
+        WebhookHandle webhook = webhooks.get(webhookUrl);
+        if (webhook != null) return webhook;
+
+        webhook = WebhookHandle.parse(webhookUrl);
+        if (webhook == null) return null;
+
+        if (webhooks.size() >= MAX_CACHED_WEBHOOKS) webhooks.clear();
+        webhooks.put(webhookUrl, webhook);
 
-        return getGateway().getChannelById(Snowflake.of(channelId));
+        return webhook;
     }
 
     /**
-     * Adds a reaction to a specified message.
+     * Deletes a message in a specified channel.
      *
      * @param channelId the ID of the channel where the message is located
-     * @param messageId the ID of the message to add a reaction to
-     * @param emoji     the emoji to react with
+     * @param messageId the ID of the message to be deleted
      */
     @Override
-    public void addReaction(String channelId, String messageId, String emoji) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
-        }
-
-        getGateway().getMessageById(Snowflake.of(channelId), Snowflake.of(messageId))
-                .flatMap(message -> message.addReaction(ReactionEmoji.unicode(emoji)))
-                .subscribe();
+    public void deleteMessage(String channelId, String messageId) {
+        deleteMessage(SnowflakeCache.of(channelId), Snowflake.of(messageId));
     }
 
     /**
-     * Removes a reaction from a specified message.
+     * Deletes a message in a specified channel.
      *
      * @param channelId the ID of the channel where the message is located
-     * @param messageId the ID of the message to remove a reaction from
-     * @param userId    the ID user
-     * @param emoji     the emoji to remove (unicode)
+     * @param messageId the ID of the message to be deleted
      */
     @Override
-    public void removeReaction(String channelId, String messageId, String userId, String emoji) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
-        }
-
-        getGateway().getMessageById(Snowflake.of(channelId), Snowflake.of(messageId))
-                .flatMap(message -> message.removeReaction(ReactionEmoji.unicode(emoji), Snowflake.of(userId)))
-                .subscribe();
+    public void deleteMessage(Snowflake channelId, Snowflake messageId) {
+        runWhenReady(() -> deleteMessageAsync(channelId, messageId).subscribe());
     }
 
     /**
-     * Removes a reaction from a specified message.
+     * Deletes a message in a specified channel when the returned Mono is subscribed to.
      *
      * @param channelId the ID of the channel where the message is located
-     * @param messageId the ID of the message to remove a reaction from
-     * @param emoji     the emoji to remove (unicode)
+     * @param messageId the ID of the message to be deleted
+     * @return a Mono completing when the message is deleted
      */
     @Override
-    public void removeReaction(String channelId, String messageId, String emoji) {
-        if (getGateway() == null) {
-            System.out.println("[!] Discord API gateway is not initialized!");
-            return;
+    public Mono<Void> deleteMessageAsync(String channelId, String messageId) {
+        return deleteMessageAsync(SnowflakeCache.of(channelId), Snowflake.of(messageId));
+    }
+
+    /**
+     * Deletes a message in a specified channel when the returned Mono is subscribed to.
+     * Messages are deleted by the primary bot, which needs the {@code MANAGE_MESSAGES} permission for messages of others.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to be deleted
+     * @return a Mono completing when the message is deleted
+     */
+    @Override
+    public Mono<Void> deleteMessageAsync(Snowflake channelId, Snowflake messageId) {
+        return deleteMessageMetrics.time(Main.whenReady().flatMap(gateway -> executeOnPrimary(
+                rest -> rest.getMessageById(channelId, messageId).delete(null))));
+    }
+
+    /**
+     * Deletes several messages in a specified channel.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages to be deleted
+     * @return a Flux emitting the result of every message as it is deleted or fails
+     */
+    @Override
+    public Flux<DeleteResult> deleteMessages(String channelId, Collection<String> messageIds) {
+        List<Snowflake> ids = new ArrayList<>(messageIds.size());
+        for (String messageId : messageIds) {
+            ids.add(Snowflake.of(messageId));
+        }
+        return deleteMessages(SnowflakeCache.of(channelId), ids);
+    }
+
+    /**
+     * Deletes several messages in a specified channel.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages to be deleted
+     * @return a Flux emitting the result of every message as it is deleted or fails
+     */
+    @Override
+    public Flux<DeleteResult> deleteMessages(Snowflake channelId, Collection<Snowflake> messageIds) {
+        return deleteMessages(channelId, Flux.fromIterable(messageIds));
+    }
+
+    /**
+     * Deletes the recent messages of a specified channel matching a filter.
+     *
+     * @param channelId the ID of the channel to clean up
+     * @param limit     the number of most recent messages to check
+     * @param filter    the filter of messages to be deleted
+     * @return a Flux emitting the result of every matching message as it is deleted or fails
+     */
+    @Override
+    public Flux<DeleteResult> purge(String channelId, int limit, Predicate<Message> filter) {
+        return purge(SnowflakeCache.of(channelId), limit, filter);
+    }
+
+    /**
+     * Deletes the recent messages of a specified channel matching a filter.
+     * The history is read page by page while the matching messages are being deleted.
+     *
+     * @param channelId the ID of the channel to clean up
+     * @param limit     the number of most recent messages to check
+     * @param filter    the filter of messages to be deleted
+     * @return a Flux emitting the result of every matching message as it is deleted or fails
+     */
+    @Override
+    public Flux<DeleteResult> purge(Snowflake channelId, int limit, Predicate<Message> filter) {
+        return deleteMessages(channelId, Main.whenReady()
+                .flatMapMany(gateway -> getClientPool().getPrimary().getChannelById(channelId)
+                        .getMessagesBefore(Snowflake.of(Instant.now()))
+                        .take(limit)
+                        .map(data -> new Message(gateway, data))
+                        .filter(filter)
+                        .map(Message::getId)));
+    }
+
+    /**
+     * Deletes messages in chunks of up to {@link #MAX_BULK_DELETE} messages, one chunk at a time.
+     * All deletes are made by the primary bot, which reads the history of purged channels as well, so only the primary
+     * bot needs the {@code MANAGE_MESSAGES} permission.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages to be deleted
+     * @return a Flux emitting the result of every message
+     */
+    private Flux<DeleteResult> deleteMessages(Snowflake channelId, Flux<Snowflake> messageIds) {
+        return Main.whenReady().flatMapMany(gateway -> messageIds.distinct()
+                .buffer(MAX_BULK_DELETE)
+                .concatMap(chunk -> deleteChunk(channelId, chunk)));
+    }
+
+    /**
+     * Deletes a chunk of messages. Discord only bulk-deletes at least two messages not older than 14 days,
+     * the rest are deleted one by one.
+     *
+     * @param channelId the ID of the channel where the messages are located
+     * @param chunk     the IDs of up to {@link #MAX_BULK_DELETE} messages
+     * @return a Flux emitting the result of every message
+     */
+    private Flux<DeleteResult> deleteChunk(Snowflake channelId, List<Snowflake> chunk) {
+        Instant bulkDeletable = Instant.now().minus(MAX_BULK_DELETE_AGE);
+        List<Snowflake> recent = new ArrayList<>(chunk.size());
+        List<Snowflake> old = new ArrayList<>();
+
+        for (Snowflake messageId : chunk) {
+            if (messageId.getTimestamp().isAfter(bulkDeletable)) {
+                recent.add(messageId);
+            } else {
+                old.add(messageId);
+            }
+        }
+
+        Flux<DeleteResult> results = recent.size() < 2 ? deleteEach(channelId, recent) : bulkDelete(channelId, recent);
+        return old.isEmpty() ? results : results.concatWith(deleteEach(channelId, old));
+    }
+
+    /**
+     * Deletes messages by a single bulk-delete request.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of 2 to {@link #MAX_BULK_DELETE} messages not older than 14 days
+     * @return a Flux emitting the result of every message
+     */
+    private Flux<DeleteResult> bulkDelete(Snowflake channelId, List<Snowflake> messageIds) {
+        List<String> ids = new ArrayList<>(messageIds.size());
+        for (Snowflake messageId : messageIds) {
+            ids.add(messageId.asString());
+        }
+
+        return deleteMessagesMetrics.time(executeOnPrimary(rest -> rest.getChannelService()
+                        .bulkDeleteMessages(channelId.asLong(), BulkDeleteRequest.builder().messages(ids).build())))
+                .thenMany(Flux.fromIterable(messageIds).map(messageId -> new DeleteResult(messageId, true, null)))
+                .onErrorResume(error -> Flux.fromIterable(messageIds).map(messageId -> new DeleteResult(messageId, true, error)));
+    }
+
+    /**
+     * Deletes messages one by one.
+     *
+     * @param channelId  the ID of the channel where the messages are located
+     * @param messageIds the IDs of the messages
+     * @return a Flux emitting the result of every message
+     */
+    private Flux<DeleteResult> deleteEach(Snowflake channelId, List<Snowflake> messageIds) {
+        return Flux.fromIterable(messageIds)
+                .concatMap(messageId -> deleteMessageMetrics.time(executeOnPrimary(
+                                rest -> rest.getMessageById(channelId, messageId).delete(null)))
+                        .thenReturn(new DeleteResult(messageId, false, null))
+                        .onErrorResume(error -> Mono.just(new DeleteResult(messageId, false, error))));
+    }
+
+    /**
+     * Creates a message that is posted once and then edited in place.
+     *
+     * @param channelId the ID of the channel where to post the message
+     * @return the live message, posted on its first update
+     */
+    @Override
+    public LiveMessage createLiveMessage(String channelId) {
+        return createLiveMessage(SnowflakeCache.of(channelId));
+    }
+
+    /**
+     * Creates a message that is posted once and then edited in place.
+     * The message is always posted and edited by the bot assigned to the channel, as bots can only edit their own messages.
+     *
+     * @param channelId the ID of the channel where to post the message
+     * @return the live message, posted on its first update
+     */
+    @Override
+    public LiveMessage createLiveMessage(Snowflake channelId) {
+        return new LiveMessage(channelId,
+                content -> sendMessageMetrics.time(Main.whenReady()
+                        .flatMap(gateway -> getMessageChannel(channelId))
+                        .flatMap(channel -> executeByChannel(channelId, rest -> rest.getChannelService()
+                                .createMessage(channelId.asLong(), MessageCreateSpec.builder().content(content).build().asRequest())))
+                        .map(data -> Snowflake.of(data.id()))),
+                (messageId, content) -> editMessageMetrics.time(Main.whenReady()
+                        .flatMap(gateway -> executeByChannel(channelId, rest -> rest.getChannelService()
+                                .editMessage(channelId.asLong(), messageId.asLong(),
+                                        MessageEditSpec.builder().contentOrNull(content).build().asRequest())))),
+                Duration.ofMillis(config.getInt("liveMessage.editInterval")),
+                MessageQueue.MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Edits a message in a specified channel.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     */
+    @Override
+    public void editMessage(String channelId, String messageId, MessageEditSpec messageEditSpec) {
+        editMessage(SnowflakeCache.of(channelId), Snowflake.of(messageId), messageEditSpec);
+    }
+
+    /**
+     * Edits a message in a specified channel.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     */
+    @Override
+    public void editMessage(Snowflake channelId, Snowflake messageId, MessageEditSpec messageEditSpec) {
+        runWhenReady(() -> editMessageAsync(channelId, messageId, messageEditSpec).subscribe());
+    }
+
+    /**
+     * Edits a message in a specified channel when the returned Mono is subscribed to.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     * @return a Mono emitting the ID of the edited message
+     */
+    @Override
+    public Mono<Snowflake> editMessageAsync(String channelId, String messageId, MessageEditSpec messageEditSpec) {
+        return editMessageAsync(SnowflakeCache.of(channelId), Snowflake.of(messageId), messageEditSpec);
+    }
+
+    /**
+     * Edits a message in a specified channel when the returned Mono is subscribed to.
+     * Only the author of a message may edit it, so the message is edited by the bot that created it, or by the primary
+     * bot if the author is no longer known.
+     *
+     * @param channelId       the ID of the channel where the message is located
+     * @param messageId       the ID of the message to be edited
+     * @param messageEditSpec the MessageEditSpec containing the new content or embed for the message
+     * @return a Mono emitting the ID of the edited message
+     */
+    @Override
+    public Mono<Snowflake> editMessageAsync(Snowflake channelId, Snowflake messageId, MessageEditSpec messageEditSpec) {
+        return editMessageMetrics.time(Main.whenReady().flatMap(gateway -> executeAsAuthor(messageId, rest -> rest.getChannelService()
+                        .editMessage(channelId.asLong(), messageId.asLong(), messageEditSpec.asRequest()))))
+                .map(data -> Snowflake.of(data.id()));
+    }
+
+    /**
+     * Gets information about a user by ID.
+     *
+     * @param userId the ID of the user to retrieve
+     * @return a Mono emitting the User object
+     */
+    @Override
+    public Mono<User> getUserById(String userId) {
+        return getUserById(Snowflake.of(userId));
+    }
+
+    /**
+     * Gets information about a user by ID through the user cache.
+     * Concurrent lookups of the same user share a single request.
+     * Fails with a timeout if the bot is not ready within {@code reconnect.readTimeout} seconds.
+     *
+     * @param userId the ID of the user to retrieve
+     * @return a Mono emitting the User object
+     */
+    @Override
+    public Mono<User> getUserById(Snowflake userId) {
+        return getUserByIdMetrics.time(whenReadyToRead().flatMap(gateway -> userCache.get(userId, gateway::getUserById)));
+    }
+
+    /**
+     * Gets information about several users by ID through the user cache.
+     * Cached users are emitted right away, at most {@code userCache.fetchConcurrency} missing users are fetched at once.
+     * Users that cannot be retrieved are skipped. Fails with a timeout if the bot is not ready
+     * within {@code reconnect.readTimeout} seconds.
+     *
+     * @param userIds the IDs of the users to retrieve
+     * @return a Flux emitting the User objects that could be retrieved, in no particular order
+     */
+    @Override
+    public Flux<User> getUsersByIds(Collection<Snowflake> userIds) {
+        int concurrency = Math.max(config.getInt("userCache.fetchConcurrency"), 1);
+
+        return whenReadyToRead().flatMapMany(gateway -> Flux.fromIterable(userIds)
+                .distinct()
+                .flatMap(userId -> getUserByIdMetrics.time(userCache.get(userId, gateway::getUserById))
+                        .onErrorResume(error -> Mono.empty()), concurrency));
+    }
+
+    /**
+     * Gets information about a channel by ID.
+     *
+     * @param channelId the ID of the channel to retrieve
+     * @return a Mono emitting the Channel object
+     */
+    @Override
+    public Mono<Channel> getChannelById(String channelId) {
+        return getChannelById(SnowflakeCache.of(channelId));
+    }
+
+    /**
+     * Gets information about a channel by ID.
+     * Fails with a timeout if the bot is not ready within {@code reconnect.readTimeout} seconds.
+     *
+     * @param channelId the ID of the channel to retrieve
+     * @return a Mono emitting the Channel object
+     */
+    @Override
+    public Mono<Channel> getChannelById(Snowflake channelId) {
+        return getChannelByIdMetrics.time(whenReadyToRead().flatMap(gateway -> gateway.getChannelById(channelId)));
+    }
+
+    /**
+     * Waits for the bot to be ready for a read. Callers usually wait for the result of a read,
+     * so it fails after {@code reconnect.readTimeout} seconds rather than waiting for an outage to end.
+     *
+     * @return a Mono emitting the gateway once the bot is ready
+     */
+    private Mono<GatewayDiscordClient> whenReadyToRead() {
+        return Main.whenReady().timeout(readTimeout);
+    }
+
+    /**
+     * Adds a reaction to a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     */
+    @Override
+    public void addReaction(String channelId, String messageId, String emoji) {
+        addReaction(SnowflakeCache.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Adds a reaction to a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     */
+    @Override
+    public void addReaction(Snowflake channelId, Snowflake messageId, String emoji) {
+        runWhenReady(() -> addReactionAsync(channelId, messageId, emoji).subscribe());
+    }
+
+    /**
+     * Adds a reaction to a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     * @return a Mono completing when the reaction is added
+     */
+    @Override
+    public Mono<Void> addReactionAsync(String channelId, String messageId, String emoji) {
+        return addReactionAsync(SnowflakeCache.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Adds a reaction to a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to add a reaction to
+     * @param emoji     the emoji to react with
+     * @return a Mono completing when the reaction is added
+     */
+    @Override
+    public Mono<Void> addReactionAsync(Snowflake channelId, Snowflake messageId, String emoji) {
+        return addReactionMetrics.time(Main.whenReady().flatMap(gateway -> executeByChannel(channelId,
+                rest -> rest.getMessageById(channelId, messageId).createReaction(EntityUtil.getEmojiString(ReactionEmoji.unicode(emoji))))));
+    }
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove (unicode)
+     */
+    @Override
+    public void removeReaction(String channelId, String messageId, String userId, String emoji) {
+        removeReaction(SnowflakeCache.of(channelId), Snowflake.of(messageId), Snowflake.of(userId), emoji);
+    }
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove (unicode)
+     */
+    @Override
+    public void removeReaction(Snowflake channelId, Snowflake messageId, Snowflake userId, String emoji) {
+        runWhenReady(() -> removeReactionAsync(channelId, messageId, userId, emoji).subscribe());
+    }
+
+    /**
+     * Removes a reaction from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove (unicode)
+     * @return a Mono completing when the reaction is removed
+     */
+    @Override
+    public Mono<Void> removeReactionAsync(String channelId, String messageId, String userId, String emoji) {
+        return removeReactionAsync(SnowflakeCache.of(channelId), Snowflake.of(messageId), Snowflake.of(userId), emoji);
+    }
+
+    /**
+     * Removes a reaction from a specified message when the returned Mono is subscribed to.
+     * The reaction is removed by the primary bot, as removing reactions of other users needs its permissions.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param userId    the ID user
+     * @param emoji     the emoji to remove (unicode)
+     * @return a Mono completing when the reaction is removed
+     */
+    @Override
+    public Mono<Void> removeReactionAsync(Snowflake channelId, Snowflake messageId, Snowflake userId, String emoji) {
+        return removeReactionMetrics.time(Main.whenReady().flatMap(gateway -> executeOnPrimary(
+                rest -> rest.getMessageById(channelId, messageId).deleteUserReaction(EntityUtil.getEmojiString(ReactionEmoji.unicode(emoji)), userId))));
+    }
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove (unicode)
+     */
+    @Override
+    public void removeReaction(String channelId, String messageId, String emoji) {
+        removeReaction(SnowflakeCache.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Removes a reaction from a specified message.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove (unicode)
+     */
+    @Override
+    public void removeReaction(Snowflake channelId, Snowflake messageId, String emoji) {
+        runWhenReady(() -> removeReactionAsync(channelId, messageId, emoji).subscribe());
+    }
+
+    /**
+     * Removes the reaction of the bot from a specified message when the returned Mono is subscribed to.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove (unicode)
+     * @return a Mono completing when the reaction is removed
+     */
+    @Override
+    public Mono<Void> removeReactionAsync(String channelId, String messageId, String emoji) {
+        return removeReactionAsync(SnowflakeCache.of(channelId), Snowflake.of(messageId), emoji);
+    }
+
+    /**
+     * Removes the reaction of the bot from a specified message when the returned Mono is subscribed to.
+     * The reaction is removed by the bot assigned to the channel, as it is the one that added it.
+     *
+     * @param channelId the ID of the channel where the message is located
+     * @param messageId the ID of the message to remove a reaction from
+     * @param emoji     the emoji to remove (unicode)
+     * @return a Mono completing when the reaction is removed
+     */
+    @Override
+    public Mono<Void> removeReactionAsync(Snowflake channelId, Snowflake messageId, String emoji) {
+        return removeReactionMetrics.time(Main.whenReady().flatMap(gateway -> executeByChannel(channelId,
+                rest -> rest.getMessageById(channelId, messageId).deleteOwnReaction(EntityUtil.getEmojiString(ReactionEmoji.unicode(emoji))))));
+    }
+
+    /**
+     * Executes many operations with the configured number of operations in flight.
+     *
+     * @param operations operations to execute
+     * @param <T>        type of the operation results
+     * @return a Flux emitting the result of every operation in the order of the operations
+     */
+    @Override
+    public <T> Flux<BatchResult<T>> executeBatch(List<? extends Mono<? extends T>> operations) {
+        return executeBatch(operations, config.getInt("batch.concurrency"));
+    }
+
+    /**
+     * Executes many operations with at most {@code concurrency} operations in flight.
+     * Every operation still passes through the outbound scheduler, so a large batch does not exceed the rate limits.
+     *
+     * @param operations  operations to execute
+     * @param concurrency maximum number of operations in flight
+     * @param <T>         type of the operation results
+     * @return a Flux emitting the result of every operation in the order of the operations
+     */
+    @Override
+    public <T> Flux<BatchResult<T>> executeBatch(List<? extends Mono<? extends T>> operations, int concurrency) {
+        return Flux.range(0, operations.size())
+                .flatMapSequential(index -> operations.get(index)
+                        .<BatchResult<T>>map(value -> new BatchResult<>(index, value, null))
+                        .defaultIfEmpty(new BatchResult<>(index, null, null))
+                        .onErrorResume(error -> Mono.just(new BatchResult<>(index, null, error))), Math.max(concurrency, 1));
+    }
+
+    /**
+     * Runs a request immediately if the bot is ready, otherwise buffers it until the bot is connected.
+     * When the buffer is full, the request is dropped.
+     *
+     * @param request request to run
+     */
+    private void runWhenReady(Runnable request) {
+        if (isReady()) {
+            request.run();
+            return;
+        }
+
+        if (!pending.offer(request)) {
+            System.out.println("[!] Discord API is not ready yet and the request buffer is full, the request is dropped!");
+            return;
         }
 
-        getGateway().getMessageById(Snowflake.of(channelId), Snowflake.of(messageId))
-                .flatMap(message -> message.removeReaction(ReactionEmoji.unicode(emoji), getGateway().getSelfId()))
+        // The bot may have become ready while the request was being buffered
+        if (isReady()) flushPending();
+    }
+
+    /**
+     * Getting the number of requests buffered until the bot is ready
+     *
+     * @return number of buffered requests
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Runs the requests buffered while the bot was not ready and replays the messages of the journal
+     * that were not sent because of an outage or a restart.
+     */
+    public void flushPending() {
+        Runnable request;
+        while ((request = pending.poll()) != null) {
+            try {
+                request.run();
+            } catch (Exception e) {
+                System.out.println("[!] An error occurred while sending a buffered Discord request: " + e.getMessage());
+            }
+        }
+
+        if (journal == null) return;
+
+        // Entries are claimed as in flight before they are dispatched one after another, so a flush that overlaps
+        // with this one, e.g. after a quick reconnect, does not replay the entries still waiting for their turn
+        List<OutboundJournal.Entry> unsent = journal.getPending();
+        unsent.removeIf(entry -> !inFlight.add(entry.getSequence()));
+        if (unsent.isEmpty()) return;
+
+        System.out.printf("[#] Replaying %d unsent Discord messages from the outbound journal%n", unsent.size());
+        Flux.fromIterable(unsent)
+                .concatMap(entry -> sendMessageMetrics.time(dispatch(entry, Priority.NORMAL))
+                        .onErrorResume(error -> Mono.empty()))
                 .subscribe();
     }
+
+    /**
+     * Waits for queued, scheduled and recorded messages to be sent and closes the journal.
+     * Recorded messages that are not sent in time are replayed on the next startup.
+     *
+     * @param timeout maximum time to wait
+     */
+    public void close(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (isReady() && !isIdle() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (journal != null) journal.close();
+    }
+
+    /**
+     * Checks whether all queued, scheduled and recorded messages have been sent.
+     *
+     * @return {@code true} if no messages are waiting or being sent
+     */
+    private boolean isIdle() {
+        return (messageQueue == null || messageQueue.isIdle()) && (bulkMessageQueue == null || bulkMessageQueue.isIdle())
+                && scheduler.isIdle() && inFlight.isEmpty();
+    }
+
+    /**
+     * Sends a message, recording it in the journal if the journal is enabled.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param spec      the message to send
+     * @param metrics   metrics of the API method
+     * @param priority  priority of the message
+     */
+    private void send(Snowflake channelId, MessageCreateSpec spec, OperationMetrics metrics, Priority priority) {
+        // Recorded messages are journaled right away and wait for the bot themselves
+        if (journal != null) {
+            sendAsync(channelId, spec, metrics, priority).subscribe();
+            return;
+        }
+
+        runWhenReady(() -> sendAsync(channelId, spec, metrics, priority).subscribe());
+    }
+
+    /**
+     * Sends a message when the returned Mono is subscribed to, recording it in the journal if the journal is enabled.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param spec      the message to send
+     * @param metrics   metrics of the API method
+     * @param priority  priority of the message
+     * @return a Mono emitting the ID of the created message
+     */
+    private Mono<Snowflake> sendAsync(Snowflake channelId, MessageCreateSpec spec, OperationMetrics metrics, Priority priority) {
+        return metrics.time(dispatch(channelId, spec, priority)).map(data -> Snowflake.of(data.id()));
+    }
+
+    /**
+     * Sends a message through the outbound scheduler when the returned Mono is subscribed to.
+     * The message is recorded in the journal right away, if the journal is enabled, but scheduled only once the bot
+     * is ready, so the scheduler does not spend its rate on requests that would just wait for the bot.
+     * If the journal is full, the message is sent without being recorded.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param spec      the message to send
+     * @param priority  priority of the message
+     * @return a Mono emitting the created message
+     */
+    private Mono<MessageData> dispatch(Snowflake channelId, MessageCreateSpec spec, Priority priority) {
+        return Mono.defer(() -> {
+            OutboundJournal.Entry entry = journal != null ? record(channelId, spec) : null;
+            if (entry != null) return dispatch(entry, priority);
+
+            return Main.whenReady().flatMap(gateway -> scheduler.schedule(priority, createMessage(channelId, spec)));
+        });
+    }
+
+    /**
+     * Schedules a recorded message once the bot is ready. The entry counts as in flight while it waits in the scheduler,
+     * so it is not replayed a second time. If the scheduler drops the message, it is removed from the journal as well,
+     * as it would be replayed otherwise. Transient failures are retried with backoff through the scheduler, messages
+     * that still fail stay in the journal and are replayed after the next reconnect.
+     *
+     * @param entry    the recorded message
+     * @param priority priority of the message
+     * @return a Mono emitting the created message, or empty if the message was dropped
+     */
+    private Mono<MessageData> dispatch(OutboundJournal.Entry entry, Priority priority) {
+        return Mono.defer(() -> {
+            inFlight.add(entry.getSequence());
+
+            return Main.whenReady()
+                    .flatMap(gateway -> scheduler.schedule(priority, send(entry), () -> journal.acknowledge(entry.getSequence()))
+                            .retryWhen(RECORDED_RETRY))
+                    .doFinally(signal -> inFlight.remove(entry.getSequence()));
+        });
+    }
+
+    /**
+     * Records a message in the journal.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param spec      the message to send
+     * @return the recorded entry or {@code null} if the journal is full
+     */
+    private OutboundJournal.Entry record(Snowflake channelId, MessageCreateSpec spec) {
+        OutboundJournal.Entry entry;
+        try {
+            entry = journal.append(channelId.asLong(), mapper.writeValueAsString(spec.asRequest()));
+        } catch (JsonProcessingException e) {
+            entry = null;
+        }
+
+        if (entry == null) {
+            System.out.println("[!] Discord outbound journal is full, the message is sent without being recorded!");
+        }
+        return entry;
+    }
+
+    /**
+     * Sends a recorded message and acknowledges it when Discord accepts it.
+     * The message carries the nonce of the entry, so Discord does not post it again if it was already sent
+     * before a crash. Messages that Discord rejects for good, e.g. to a deleted channel, are acknowledged as well.
+     *
+     * @param entry the recorded message
+     * @return a Mono emitting the created message
+     */
+    private Mono<MessageData> send(OutboundJournal.Entry entry) {
+        Snowflake channelId = Snowflake.of(entry.getChannelId());
+
+        return getMessageChannel(channelId)
+                .flatMap(channel -> getClientPool().executeByChannel(channelId, rest -> Mono.fromCallable(() -> {
+                            ObjectNode body = (ObjectNode) mapper.readTree(entry.getPayload());
+                            return body.put("nonce", entry.getNonce()).put("enforce_nonce", true);
+                        })
+                        .flatMap(body -> Routes.MESSAGE_CREATE.newRequest(channelId.asLong())
+                                .body(body)
+                                .exchange(rest.getRestResources().getRouter())
+                                .bodyToMono(MessageData.class))))
+                .doOnSuccess(message -> journal.acknowledge(entry.getSequence()))
+                .doOnError(error -> {
+                    if (isPermanentFailure(error)) {
+                        System.out.printf("[!] Discord rejected a message to channel '%s', it is removed from the journal: %s%n",
+                                channelId.asString(), error.getMessage());
+                        journal.acknowledge(entry.getSequence());
+                    }
+                });
+    }
+
+    /**
+     * Checks whether a failed request would fail again if it was retried.
+     *
+     * @param error the error of the request
+     * @return {@code true} for client errors other than rate limits and for unreadable journal entries
+     */
+    private static boolean isPermanentFailure(Throwable error) {
+        if (error instanceof JsonProcessingException || error instanceof ClassCastException) return true;
+        if (!(error instanceof ClientException)) return false;
+
+        int status = ((ClientException) error).getStatus().code();
+        return status >= 400 && status < 500 && status != 429;
+    }
+
+    /**
+     * Creates a message in a channel through the client pool, posting by the channel ID without resolving the channel.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param spec      the message to send
+     * @return a Mono emitting the created message
+     */
+    private Mono<MessageData> createMessage(Snowflake channelId, MessageCreateSpec spec) {
+        return getClientPool().execute(channelId,
+                rest -> rest.getChannelService().createMessage(channelId.asLong(), spec.asRequest()));
+    }
+
+    /**
+     * Executes a request on the client assigned to the channel once the outbound scheduler dispatches it.
+     *
+     * @param channelId ID of the channel the request targets
+     * @param request   function creating the request for the chosen client
+     * @param <T>       type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    private <T> Mono<T> executeByChannel(Snowflake channelId, Function<RestClient, Mono<T>> request) {
+        return scheduler.schedule(Priority.NORMAL, getClientPool().executeByChannel(channelId, request));
+    }
+
+    /**
+     * Executes a request on the bot that authored a message once the outbound scheduler dispatches it.
+     *
+     * @param messageId ID of the message
+     * @param request   function creating the request for the chosen client
+     * @param <T>       type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    private <T> Mono<T> executeAsAuthor(Snowflake messageId, Function<RestClient, Mono<T>> request) {
+        return scheduler.schedule(Priority.NORMAL, Mono.defer(() -> getClientPool().executeAsAuthor(messageId, request)));
+    }
+
+    /**
+     * Executes a request on the primary bot once the outbound scheduler dispatches it.
+     *
+     * @param request function creating the request for the primary client
+     * @param <T>     type of the request result
+     * @return a Mono emitting the result of the request
+     */
+    private <T> Mono<T> executeOnPrimary(Function<RestClient, Mono<T>> request) {
+        return scheduler.schedule(Priority.NORMAL, Mono.defer(() -> getClientPool().executeOnPrimary(request)));
+    }
+
+    /**
+     * Getting the pool of bot clients used for outbound requests
+     *
+     * @return client pool
+     */
+    private ClientPool getClientPool() {
+        return Main.getClientPool();
+    }
+
+    /**
+     * Resolves a message channel by ID through the channel cache.
+     *
+     * @param channelId the ID of the channel
+     * @return a Mono emitting the message channel or empty if the channel is not a message channel
+     */
+    private Mono<MessageChannel> getMessageChannel(Snowflake channelId) {
+        return channelCache.get(channelId, id -> getGateway().getChannelById(id).ofType(MessageChannel.class));
+    }
 }
\ No newline at end of file
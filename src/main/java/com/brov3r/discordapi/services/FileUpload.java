@@ -0,0 +1,259 @@
+package com.brov3r.discordapi.services;
+
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Files uploaded as message attachments, split into the messages they are sent with.
+ * <p>
+ * Files are optionally gzip-compressed into temporary files first, so their size is known before they are split.
+ * The attachments of a message are read from disk into direct buffers by {@link #open} just before the message is
+ * sent, so files are never loaded into the heap as a whole and the HTTP client only copies memory instead of reading
+ * files or compressing on its I/O threads. Files over the upload limit are split into numbered parts or rejected.
+ * Attachments are grouped into as few messages as the limits of Discord allow, leaving room for the message text and
+ * the multipart encoding within the limit.
+ * <p>
+ * The attachment streams start over once they have been read to the end, so a request that is resent after
+ * a rate limit uploads the whole attachment again.
+ */
+public class FileUpload implements AutoCloseable {
+    /**
+     * Maximum number of attachments of one message
+     */
+    public static final int MAX_ATTACHMENTS = 10;
+
+    /**
+     * Bytes of a request reserved for the message text (up to 2000 characters, escaped in JSON) and the multipart
+     * headers of the attachments, so the attachments plus the rest of the request stay within the upload limit
+     */
+    private static final long REQUEST_OVERHEAD = 16 * 1024 + MAX_ATTACHMENTS * 512;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<List<Part>> messages;
+    private final List<Path> temporaryFiles;
+
+    private FileUpload(List<List<Part>> messages, List<Path> temporaryFiles) {
+        this.messages = messages;
+        this.temporaryFiles = temporaryFiles;
+    }
+
+    /**
+     * Prepares the upload of files. Compressing files reads them completely, so this has to be called
+     * off the game and event threads.
+     *
+     * @param files   files to upload
+     * @param gzip    whether to gzip-compress the files
+     * @param maxSize maximum size in bytes of a request with attachments, part of which is reserved for the rest
+     *                of the request
+     * @param split   whether to split files over the maximum size into parts, otherwise they are rejected
+     * @return the prepared upload, which has to be closed to delete its temporary files
+     * @throws IOException              if a file cannot be read
+     * @throws IllegalArgumentException if a file is over the maximum size and files are not split
+     */
+    public static FileUpload prepare(List<Path> files, boolean gzip, long maxSize, boolean split) throws IOException {
+        long limit = maxSize - Math.min(REQUEST_OVERHEAD, maxSize / 2);
+        List<Path> temporaryFiles = new ArrayList<>();
+
+        try {
+            List<Part> parts = new ArrayList<>();
+            for (Path file : files) {
+                addParts(parts, file, gzip, limit, split, temporaryFiles);
+            }
+            return new FileUpload(group(parts, limit), temporaryFiles);
+        } catch (IOException | RuntimeException e) {
+            deleteAll(temporaryFiles);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the attachments of a file, compressing and splitting it as needed.
+     */
+    private static void addParts(List<Part> parts, Path file, boolean gzip, long maxSize, boolean split,
+                                 List<Path> temporaryFiles) throws IOException {
+        String name = file.getFileName().toString();
+
+        if (gzip) {
+            Path compressed = Files.createTempFile("discord-upload-", ".gz");
+            temporaryFiles.add(compressed);
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed), BUFFER_SIZE)) {
+                Files.copy(file, output);
+            }
+
+            file = compressed;
+            name = name + ".gz";
+        }
+
+        long size = Files.size(file);
+        if (size <= maxSize) {
+            parts.add(new Part(file, 0, size, name));
+            return;
+        }
+
+        if (!split) {
+            throw new IllegalArgumentException(String.format("File '%s' (%d KB) is over the upload limit of %d KB",
+                    name, size / 1024, maxSize / 1024));
+        }
+
+        long count = (size + maxSize - 1) / maxSize;
+        for (long i = 0; i < count; i++) {
+            long position = i * maxSize;
+            long length = Math.min(maxSize, size - position);
+            parts.add(new Part(file, position, length, String.format("%s.%03d", name, i + 1)));
+        }
+    }
+
+    /**
+     * Groups attachments in their order into messages within the attachment count and size limits.
+     */
+    private static List<List<Part>> group(List<Part> parts, long maxSize) {
+        List<List<Part>> messages = new ArrayList<>();
+        List<Part> current = new ArrayList<>();
+        long currentSize = 0;
+
+        for (Part part : parts) {
+            if (!current.isEmpty() && (current.size() == MAX_ATTACHMENTS || currentSize + part.length > maxSize)) {
+                messages.add(current);
+                current = new ArrayList<>();
+                currentSize = 0;
+            }
+
+            current.add(part);
+            currentSize += part.length;
+        }
+
+        if (!current.isEmpty()) messages.add(current);
+        return messages;
+    }
+
+    /**
+     * Getting the number of messages the attachments are sent with
+     *
+     * @return number of messages
+     */
+    public int getMessageCount() {
+        return messages.size();
+    }
+
+    /**
+     * Reads the attachments of a message into direct buffers. This blocks on disk reads, so it has to be called
+     * off the game, event and I/O threads.
+     *
+     * @param message index of the message
+     * @return names and streams of the attachments
+     * @throws IOException if a file cannot be read
+     */
+    public List<Tuple2<String, InputStream>> open(int message) throws IOException {
+        List<Tuple2<String, InputStream>> attachments = new ArrayList<>();
+        for (Part part : messages.get(message)) {
+            attachments.add(Tuples.of(part.name, new BufferInputStream(part.read())));
+        }
+        return Collections.unmodifiableList(attachments);
+    }
+
+    /**
+     * Deletes the temporary files of compressed attachments.
+     */
+    @Override
+    public void close() {
+        deleteAll(temporaryFiles);
+    }
+
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.out.println("[!] Failed to delete the temporary upload file: " + file);
+            }
+        }
+    }
+
+    /**
+     * A range of a file uploaded as an attachment
+     */
+    private static class Part {
+        private final Path file;
+        private final long position;
+        private final long length;
+        private final String name;
+
+        private Part(Path file, long position, long length, String name) {
+            this.file = file;
+            this.position = position;
+            this.length = length;
+            this.name = name;
+        }
+
+        /**
+         * Reads the range by positional reads into a direct buffer.
+         *
+         * @return the buffer, ready to be read
+         * @throws IOException if the file cannot be read or is shorter than the range
+         */
+        private ByteBuffer read() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("File '" + file + "' changed while it was uploaded");
+                    }
+                }
+            }
+
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * Stream of a buffer, starting over after the end was read
+     */
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+
+            if (!buffer.hasRemaining()) {
+                buffer.rewind();
+                return -1;
+            }
+
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
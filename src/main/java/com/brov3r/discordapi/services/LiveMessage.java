@@ -0,0 +1,203 @@
+package com.brov3r.discordapi.services;
+
+import discord4j.common.util.Snowflake;
+import discord4j.rest.http.client.ClientException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A message that is posted once and then edited in place, for status feeds such as a player list or an event log.
+ * <p>
+ * Updates are debounced: the message is edited at most once per edit interval with the latest content,
+ * and not at all if the content has not changed since the last edit. When the content exceeds the Discord
+ * message length limit, the part that fits is left in the current message and the rest continues in a new one.
+ */
+public class LiveMessage {
+    private final Snowflake channelId;
+    private final Function<String, Mono<Snowflake>> creator;
+    private final BiFunction<Snowflake, String, Mono<?>> editor;
+    private final long editIntervalNanos;
+    private final int maxMessageLength;
+
+    private final StringBuilder content = new StringBuilder();
+    private Snowflake messageId;
+    private String rendered;
+    private long lastEditNanos;
+    private long version;
+    private boolean scheduled;
+    private boolean closed;
+
+    /**
+     * Constructs a new live message. Nothing is posted until the first update.
+     *
+     * @param channelId        ID of the channel where the message is posted
+     * @param creator          function posting a new message and emitting its ID
+     * @param editor           function editing the content of a posted message
+     * @param editInterval     minimum time between two edits
+     * @param maxMessageLength maximum length of a single message
+     */
+    public LiveMessage(Snowflake channelId, Function<String, Mono<Snowflake>> creator,
+                       BiFunction<Snowflake, String, Mono<?>> editor, Duration editInterval, int maxMessageLength) {
+        this.channelId = channelId;
+        this.creator = creator;
+        this.editor = editor;
+        this.editIntervalNanos = editInterval.toNanos();
+        this.maxMessageLength = Math.min(Math.max(maxMessageLength, 1), MessageQueue.MAX_MESSAGE_LENGTH);
+        this.lastEditNanos = System.nanoTime() - editIntervalNanos;
+    }
+
+    /**
+     * Replaces the content of the message, e.g. with the current player list.
+     *
+     * @param text new content of the message
+     */
+    public synchronized void update(String text) {
+        if (closed) return;
+
+        content.setLength(0);
+        content.append(text);
+        version++;
+        schedule();
+    }
+
+    /**
+     * Appends a line to the message, e.g. to a recent events log.
+     * When the log no longer fits into the message, it continues in a new message.
+     *
+     * @param line line to append
+     */
+    public synchronized void append(String line) {
+        if (closed) return;
+
+        if (!content.isEmpty()) content.append('\n');
+        content.append(line);
+        schedule();
+    }
+
+    /**
+     * Sends the pending content and stops accepting updates.
+     */
+    public synchronized void close() {
+        closed = true;
+    }
+
+    /**
+     * Getting the ID of the channel where the message is posted
+     *
+     * @return ID of the channel
+     */
+    public Snowflake getChannelId() {
+        return channelId;
+    }
+
+    /**
+     * Getting the ID of the message currently being edited
+     *
+     * @return ID of the message or {@code null} if it has not been posted yet
+     */
+    public synchronized Snowflake getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Schedules an edit at the end of the current edit interval, unless one is already scheduled or running.
+     */
+    private void schedule() {
+        if (scheduled) return;
+        scheduled = true;
+
+        long delay = Math.max(lastEditNanos + editIntervalNanos - System.nanoTime(), 0);
+        Mono.delay(Duration.ofNanos(delay)).subscribe(tick -> flush());
+    }
+
+    /**
+     * Posts or edits the message with the latest content. If the content is too long, the part that fits
+     * is sent and the rest is scheduled for a new message.
+     */
+    private void flush() {
+        String text;
+        String cut;
+        long flushedVersion;
+        Snowflake target;
+
+        synchronized (this) {
+            if (content.length() > maxMessageLength) {
+                int split = content.lastIndexOf("\n", maxMessageLength);
+                if (split <= 0) split = maxMessageLength;
+
+                text = content.substring(0, split);
+                cut = content.substring(0, content.charAt(split) == '\n' ? split + 1 : split);
+                content.delete(0, cut.length());
+            } else {
+                text = content.toString();
+                cut = null;
+            }
+
+            flushedVersion = version;
+            target = messageId;
+            if (text.isEmpty() || text.equals(rendered)) {
+                scheduled = false;
+                return;
+            }
+        }
+
+        Mono<Snowflake> request = target == null
+                ? creator.apply(text)
+                : editor.apply(target, text).thenReturn(target);
+
+        request.switchIfEmpty(Mono.error(new IllegalStateException("the channel is not a message channel")))
+                .subscribe(id -> {
+                    synchronized (this) {
+                        messageId = cut != null ? null : id;
+                        rendered = cut != null ? null : text;
+                        done(true);
+                    }
+                }, error -> {
+                    System.out.printf("[!] Failed to update live Discord message in channel '%s': %s%n",
+                            channelId.asString(), error.getMessage());
+                    synchronized (this) {
+                        // Only a deleted message is replaced by a new one, other failures keep editing the same message
+                        boolean deleted = target != null && ClientException.isStatusCode(404).test(error);
+                        if (deleted) {
+                            messageId = null;
+                            rendered = null;
+                        }
+
+                        // The text cut off for this message is sent again, unless the content was replaced meanwhile
+                        if (cut != null && version == flushedVersion) content.insert(0, cut);
+
+                        done(deleted || !isRejected(error));
+                    }
+                });
+    }
+
+    /**
+     * Finishes an edit and schedules the next one if the content differs from the posted one.
+     * After a failure that is not retried, the next edit waits for the next update.
+     *
+     * @param retry whether to schedule the next edit
+     */
+    private void done(boolean retry) {
+        lastEditNanos = System.nanoTime();
+        scheduled = false;
+
+        if (retry && !content.isEmpty() && !content.toString().equals(rendered)) schedule();
+    }
+
+    /**
+     * Checks whether Discord rejected a request, so that sending it again would fail the same way.
+     *
+     * @param error the error of the request
+     * @return {@code true} for client errors other than rate limits and for channels that cannot hold messages
+     */
+    private static boolean isRejected(Throwable error) {
+        if (error instanceof IllegalStateException) return true;
+        if (!(error instanceof ClientException)) return false;
+
+        int status = ((ClientException) error).getStatus().code();
+        return status >= 400 && status < 500 && status != 429;
+    }
+}
@@ -0,0 +1,229 @@
+package com.brov3r.discordapi.services;
+
+import discord4j.common.util.Snowflake;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Per-channel outbound queue for text messages.
+ * <p>
+ * Messages sent to the same channel within the flush window are merged into as few payloads as possible,
+ * each not exceeding the Discord message length limit. Payloads of one channel are sent strictly one after
+ * another, so a flooded channel never has more than one request waiting in the rate limit bucket.
+ * The queue of a channel is removed once all its messages are sent, so channels that went quiet take no memory.
+ */
+public class MessageQueue {
+    /**
+     * Maximum length of a Discord message
+     */
+    public static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private final Map<Snowflake, ChannelQueue> queues = new ConcurrentHashMap<>();
+    private final BiFunction<Snowflake, String, Mono<?>> sender;
+    private final Duration flushWindow;
+    private final int maxMessageLength;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * Constructs a new message queue.
+     *
+     * @param sender           function sending a single payload to a channel
+     * @param flushWindow      time during which messages are collected before sending
+     * @param maxMessageLength maximum length of a single payload
+     */
+    public MessageQueue(BiFunction<Snowflake, String, Mono<?>> sender, Duration flushWindow, int maxMessageLength) {
+        this.sender = sender;
+        this.flushWindow = flushWindow;
+        this.maxMessageLength = Math.min(Math.max(maxMessageLength, 1), MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Adds a message to the queue of the specified channel and schedules a flush if needed.
+     *
+     * @param channelId ID of the channel where to send the message
+     * @param message   Message to send
+     */
+    public void enqueue(Snowflake channelId, String message) {
+        if (message == null || message.isEmpty()) return;
+
+        // Added under the lock of the map entry, so an idle queue is never removed with the message in it
+        ChannelQueue channelQueue = queues.compute(channelId, (id, queue) -> {
+            ChannelQueue target = queue != null ? queue : new ChannelQueue();
+            target.pending.add(message);
+            return target;
+        });
+        enqueuedCount.increment();
+
+        schedule(channelId, channelQueue);
+    }
+
+    /**
+     * Schedules a flush of the channel queue unless one is already scheduled or running.
+     *
+     * @param channelId    ID of the channel
+     * @param channelQueue queue of the channel
+     */
+    private void schedule(Snowflake channelId, ChannelQueue channelQueue) {
+        if (!channelQueue.scheduled.compareAndSet(false, true)) return;
+
+        Mono.delay(flushWindow).subscribe(tick -> flush(channelId, channelQueue));
+    }
+
+    /**
+     * Drains the channel queue and sends the merged payloads in order.
+     * Messages queued while sending are picked up by the next flush.
+     *
+     * @param channelId    ID of the channel
+     * @param channelQueue queue of the channel
+     */
+    private void flush(Snowflake channelId, ChannelQueue channelQueue) {
+        List<String> payloads = merge(channelQueue.pending);
+
+        Flux.fromIterable(payloads)
+                .concatMap(payload -> sender.apply(channelId, payload)
+                        .doOnSuccess(result -> sentCount.increment())
+                        .onErrorResume(throwable -> {
+                            System.out.printf("[!] Failed to send queued Discord message to channel '%s': %s%n",
+                                    channelId.asString(), throwable.getMessage());
+                            return Mono.empty();
+                        }))
+                .doFinally(signal -> {
+                    channelQueue.scheduled.set(false);
+                    if (!channelQueue.pending.isEmpty()) {
+                        schedule(channelId, channelQueue);
+                    } else {
+                        queues.computeIfPresent(channelId, (id, queue) ->
+                                queue.pending.isEmpty() && !queue.scheduled.get() ? null : queue);
+                    }
+                })
+                .subscribe();
+    }
+
+    /**
+     * Drains pending messages and merges them into payloads separated by line breaks.
+     * Messages longer than the limit are split into several payloads by {@link #split}.
+     *
+     * @param pending pending messages of a channel
+     * @return merged payloads in the original order
+     */
+    private List<String> merge(Queue<String> pending) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        String message;
+        while ((message = pending.poll()) != null) {
+            if (message.length() > maxMessageLength) {
+                if (!current.isEmpty()) {
+                    payloads.add(current.toString());
+                    current.setLength(0);
+                }
+                split(message, payloads);
+                continue;
+            }
+
+            if (current.isEmpty()) {
+                current.append(message);
+            } else if (current.length() + 1 + message.length() <= maxMessageLength) {
+                current.append('\n').append(message);
+                coalescedCount.increment();
+            } else {
+                payloads.add(current.toString());
+                current.setLength(0);
+                current.append(message);
+            }
+        }
+
+        if (!current.isEmpty()) payloads.add(current.toString());
+
+        return payloads;
+    }
+
+    /**
+     * Splits a message longer than the limit into payloads, at the last line break within the limit like
+     * {@link LiveMessage}. Lines longer than the limit are cut, but never between the two halves of a surrogate pair.
+     *
+     * @param message  the message
+     * @param payloads payloads to add the parts of the message to
+     */
+    private void split(String message, List<String> payloads) {
+        int start = 0;
+
+        while (message.length() - start > maxMessageLength) {
+            int end = start + maxMessageLength;
+
+            int lineBreak = message.lastIndexOf('\n', end);
+            if (lineBreak > start) {
+                payloads.add(message.substring(start, lineBreak));
+                start = lineBreak + 1;
+                continue;
+            }
+
+            if (end - 1 > start && Character.isHighSurrogate(message.charAt(end - 1))) end--;
+            payloads.add(message.substring(start, end));
+            start = end;
+        }
+
+        if (start < message.length()) payloads.add(message.substring(start));
+    }
+
+    /**
+     * Checks whether all queued messages have been sent.
+     *
+     * @return {@code true} if no messages are waiting or being sent
+     */
+    public boolean isIdle() {
+        for (ChannelQueue channelQueue : queues.values()) {
+            if (channelQueue.scheduled.get() || !channelQueue.pending.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Getting the number of messages added to the queue
+     *
+     * @return number of queued messages
+     */
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    /**
+     * Getting the number of payloads successfully sent to Discord
+     *
+     * @return number of sent payloads
+     */
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    /**
+     * Getting the number of messages that were merged into another payload instead of being sent separately
+     *
+     * @return number of coalesced messages
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Pending messages and flush state of a single channel
+     */
+    private static class ChannelQueue {
+        private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+}
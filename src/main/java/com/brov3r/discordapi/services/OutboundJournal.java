@@ -0,0 +1,303 @@
+package com.brov3r.discordapi.services;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of outbound messages.
+ * <p>
+ * A message is recorded before it is sent and acknowledged once Discord has accepted it, so messages that were not
+ * sent because of an outage or a crash can be replayed in their original order. Every entry has a sequence number,
+ * unique across restarts, which is used as the message nonce so that a replayed message is not posted twice.
+ * <p>
+ * Writes go to a memory-mapped file and survive a crash of the server process. The file has a fixed maximum size:
+ * acknowledged entries are discarded by compacting the journal when it is full.
+ * <p>
+ * File layout: a header of {@code magic, version, next sequence} followed by records of
+ * {@code length, crc, state, sequence, channel ID, payload} and a zero length marking the end.
+ */
+public class OutboundJournal {
+    private static final int MAGIC = 0x444A524E;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SEQUENCE_OFFSET = 8;
+    // length, crc, state, sequence, channel ID
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 1 + 8 + 8;
+    private static final int STATE_OFFSET = 8;
+    private static final byte PENDING = 1;
+    private static final byte ACKNOWLEDGED = 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    // Positions of pending entries by sequence, in journal order
+    private final Map<Long, Integer> positions = new LinkedHashMap<>();
+    private long nextSequence;
+    private int writePosition;
+    private boolean closed;
+
+    /**
+     * Opens a journal, creating the file if it does not exist, and loads its pending entries.
+     *
+     * @param path    path of the journal file
+     * @param maxSize maximum size of the journal file in bytes
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public OutboundJournal(Path path, int maxSize) throws IOException {
+        this.path = path;
+
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(Math.max(maxSize, HEADER_SIZE + 4), channel.size()));
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            // Sequences of a new journal start from the current time, so nonces do not repeat after the file is lost
+            nextSequence = System.currentTimeMillis() * 1000;
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(SEQUENCE_OFFSET, nextSequence);
+            writePosition = HEADER_SIZE;
+            buffer.putInt(writePosition, 0);
+        } else {
+            nextSequence = buffer.getLong(SEQUENCE_OFFSET);
+            load();
+        }
+    }
+
+    /**
+     * Records a message before it is sent.
+     *
+     * @param channelId ID of the channel the message is sent to
+     * @param payload   serialized message
+     * @return the recorded entry or {@code null} if the journal is full of pending entries or closed
+     */
+    public synchronized Entry append(long channelId, String payload) {
+        if (closed) return null;
+
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_HEADER_SIZE + bytes.length;
+
+        if (!fits(length)) {
+            compact();
+            if (!fits(length)) return null;
+        }
+
+        long sequence = nextSequence++;
+        buffer.putLong(SEQUENCE_OFFSET, nextSequence);
+        write(writePosition, length, PENDING, sequence, channelId, bytes);
+
+        positions.put(sequence, writePosition);
+        writePosition += length;
+
+        return new Entry(sequence, channelId, payload);
+    }
+
+    /**
+     * Marks an entry as sent, so it is not replayed again.
+     *
+     * @param sequence sequence number of the entry
+     */
+    public synchronized void acknowledge(long sequence) {
+        if (closed) return;
+
+        Integer position = positions.remove(sequence);
+        if (position == null) return;
+
+        buffer.put(position + STATE_OFFSET, ACKNOWLEDGED);
+
+        // Nothing left to replay, the journal starts over from the beginning
+        if (positions.isEmpty()) {
+            writePosition = HEADER_SIZE;
+            buffer.putInt(writePosition, 0);
+        }
+    }
+
+    /**
+     * Getting the entries that have not been acknowledged yet
+     *
+     * @return pending entries in the order they were recorded
+     */
+    public synchronized List<Entry> getPending() {
+        List<Entry> entries = new ArrayList<>(positions.size());
+        for (int position : positions.values()) {
+            entries.add(read(position));
+        }
+        return entries;
+    }
+
+    /**
+     * Getting the number of entries that have not been acknowledged yet
+     *
+     * @return number of pending entries
+     */
+    public synchronized int getPendingCount() {
+        return positions.size();
+    }
+
+    /**
+     * Getting the path of the journal file
+     *
+     * @return path of the journal file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Writes the journal to the disk and closes the file.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("[!] Failed to close the Discord outbound journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the pending entries to the beginning of the journal, discarding the acknowledged ones.
+     * If the compaction is interrupted by a crash, the moved records are intact and the rest is cut off
+     * by the checksum, apart from entries that may be read twice, which the nonce protects against.
+     */
+    private void compact() {
+        int target = HEADER_SIZE;
+
+        for (Map.Entry<Long, Integer> entry : positions.entrySet()) {
+            int position = entry.getValue();
+            int length = buffer.getInt(position);
+
+            if (position != target) {
+                byte[] record = new byte[length];
+                buffer.get(position, record);
+                buffer.put(target, record);
+                entry.setValue(target);
+            }
+            target += length;
+        }
+
+        writePosition = target;
+        buffer.putInt(writePosition, 0);
+    }
+
+    /**
+     * Reads the pending entries of an existing journal. Reading stops at the end marker or at the first
+     * damaged record, e.g. one that was being written when the server crashed.
+     */
+    private void load() {
+        int position = HEADER_SIZE;
+
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length < RECORD_HEADER_SIZE || position + length > buffer.capacity()) break;
+            if (checksum(position, length) != buffer.getInt(position + 4)) break;
+
+            long sequence = buffer.getLong(position + STATE_OFFSET + 1);
+            if (buffer.get(position + STATE_OFFSET) == PENDING) positions.putIfAbsent(sequence, position);
+            if (sequence >= nextSequence) nextSequence = sequence + 1;
+
+            position += length;
+        }
+
+        writePosition = position;
+        if (writePosition + 4 <= buffer.capacity()) buffer.putInt(writePosition, 0);
+    }
+
+    private boolean fits(int length) {
+        // The record is followed by the end marker
+        return writePosition + length + 4 <= buffer.capacity();
+    }
+
+    /**
+     * Writes a record, setting its length last, so that a partially written record is never read.
+     */
+    private void write(int position, int length, byte state, long sequence, long channelId, byte[] payload) {
+        buffer.put(position + STATE_OFFSET, state)
+                .putLong(position + STATE_OFFSET + 1, sequence)
+                .putLong(position + STATE_OFFSET + 9, channelId)
+                .put(position + RECORD_HEADER_SIZE, payload);
+        buffer.putInt(position + length, 0);
+        buffer.putInt(position + 4, checksum(position, length));
+        buffer.putInt(position, length);
+    }
+
+    private Entry read(int position) {
+        int length = buffer.getInt(position);
+        byte[] payload = new byte[length - RECORD_HEADER_SIZE];
+        buffer.get(position + RECORD_HEADER_SIZE, payload);
+
+        return new Entry(buffer.getLong(position + STATE_OFFSET + 1), buffer.getLong(position + STATE_OFFSET + 9),
+                new String(payload, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checksum of the sequence, channel ID and payload of a record. The state is excluded, as it changes in place.
+     */
+    private int checksum(int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + STATE_OFFSET + 1, length - STATE_OFFSET - 1));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A message recorded in the journal
+     */
+    public static class Entry {
+        private final long sequence;
+        private final long channelId;
+        private final String payload;
+
+        private Entry(long sequence, long channelId, String payload) {
+            this.sequence = sequence;
+            this.channelId = channelId;
+            this.payload = payload;
+        }
+
+        /**
+         * Returns the sequence number of the entry.
+         *
+         * @return sequence number, unique across restarts
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Returns the nonce of the message, derived from the sequence number.
+         *
+         * @return nonce of the message
+         */
+        public String getNonce() {
+            return Long.toString(sequence);
+        }
+
+        /**
+         * Returns the ID of the channel the message is sent to.
+         *
+         * @return ID of the channel
+         */
+        public long getChannelId() {
+            return channelId;
+        }
+
+        /**
+         * Returns the serialized message.
+         *
+         * @return serialized message
+         */
+        public String getPayload() {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.brov3r.discordapi.services;
+
+import com.brov3r.discordapi.metrics.Metrics;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Scheduler of outbound requests with a lane per {@link Priority}.
+ * <p>
+ * Requests are dispatched at the configured rate, slightly below the Discord global rate limit, so that they wait
+ * here rather than in the Discord4J rate limiter, where their priority is unknown. Critical requests are always
+ * dispatched first and may use the whole rate. Normal and bulk requests are limited to their share of the rate,
+ * so some of it is always left for critical ones. After Discord answers with 429, bulk requests are held back
+ * for a while, and the oldest ones are dropped once the bulk lane is full.
+ */
+public class OutboundScheduler {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final IntSupplier ratePerSecond;
+    private final double[] shares = new double[PRIORITIES.length];
+    private final double[] laneTokens = new double[PRIORITIES.length];
+    private final List<Deque<Task<?>>> lanes = new ArrayList<>(PRIORITIES.length);
+    private final int bulkQueueSize;
+    private final long bulkBackoffNanos;
+
+    private final LongAdder[] dispatched = new LongAdder[PRIORITIES.length];
+    private final LongAdder shedCount = new LongAdder();
+    private final AtomicInteger unfinished = new AtomicInteger();
+
+    private double tokens;
+    // Starts with a full second of the rate saved up
+    private long lastRefillNanos = System.nanoTime() - 1_000_000_000L;
+    private long lastRateLimitHits = Metrics.getRateLimitHits();
+    private long bulkPausedUntilNanos = lastRefillNanos;
+    private boolean wakeupScheduled;
+
+    /**
+     * Constructs a new scheduler.
+     *
+     * @param ratePerSecond supplier of the number of requests dispatched per second
+     * @param normalShare   share of the rate available to normal requests, between 0 and 1
+     * @param bulkShare     share of the rate available to bulk requests, between 0 and 1
+     * @param bulkQueueSize maximum number of waiting bulk requests
+     * @param bulkBackoff   time for which bulk requests are held back after a 429 response
+     */
+    public OutboundScheduler(IntSupplier ratePerSecond, double normalShare, double bulkShare, int bulkQueueSize, Duration bulkBackoff) {
+        this.ratePerSecond = ratePerSecond;
+        this.shares[Priority.CRITICAL.ordinal()] = 1;
+        this.shares[Priority.NORMAL.ordinal()] = Math.min(Math.max(normalShare, 0.01), 1);
+        this.shares[Priority.BULK.ordinal()] = Math.min(Math.max(bulkShare, 0.01), 1);
+        this.bulkQueueSize = Math.max(bulkQueueSize, 1);
+        this.bulkBackoffNanos = bulkBackoff.toNanos();
+
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            lanes.add(new ArrayDeque<>());
+            dispatched[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Schedules a request in the lane of the priority. The request is subscribed to when it is dispatched.
+     *
+     * @param priority priority of the request
+     * @param request  the request
+     * @param <T>      type of the request result
+     * @return a Mono emitting the result of the request, or empty if the request was dropped
+     */
+    public <T> Mono<T> schedule(Priority priority, Mono<T> request) {
+        return schedule(priority, request, null);
+    }
+
+    /**
+     * Schedules a request in the lane of the priority. The request is subscribed to when it is dispatched.
+     *
+     * @param priority priority of the request
+     * @param request  the request
+     * @param onShed   action run if the request is dropped because the bulk lane is full, or {@code null}
+     * @param <T>      type of the request result
+     * @return a Mono emitting the result of the request, or empty if the request was dropped
+     */
+    public <T> Mono<T> schedule(Priority priority, Mono<T> request, Runnable onShed) {
+        return Mono.create(sink -> {
+            Task<?> dropped = null;
+            unfinished.incrementAndGet();
+
+            synchronized (this) {
+                Deque<Task<?>> lane = lanes.get(priority.ordinal());
+                lane.add(new Task<>(request.doFinally(signal -> unfinished.decrementAndGet()), sink, () -> {
+                    unfinished.decrementAndGet();
+                    if (onShed != null) onShed.run();
+                }));
+
+                if (priority == Priority.BULK && lane.size() > bulkQueueSize) {
+                    dropped = lane.poll();
+                    shedCount.increment();
+                }
+            }
+
+            if (dropped != null) dropped.shed();
+            drain();
+        });
+    }
+
+    /**
+     * Dispatches waiting requests, highest priority first, as long as the rate allows,
+     * and schedules the next attempt if requests are left waiting.
+     */
+    private void drain() {
+        List<Task<?>> ready = new ArrayList<>();
+        long wait;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+
+            if (Metrics.getRateLimitHits() != lastRateLimitHits) {
+                lastRateLimitHits = Metrics.getRateLimitHits();
+                bulkPausedUntilNanos = now + bulkBackoffNanos;
+            }
+            boolean bulkPaused = now < bulkPausedUntilNanos;
+
+            boolean progress = true;
+            while (progress && tokens >= 1) {
+                progress = false;
+
+                for (Priority priority : PRIORITIES) {
+                    int lane = priority.ordinal();
+                    if (lanes.get(lane).isEmpty() || laneTokens[lane] < 1) continue;
+                    if (priority == Priority.BULK && bulkPaused) continue;
+
+                    tokens--;
+                    laneTokens[lane]--;
+                    dispatched[lane].increment();
+                    ready.add(lanes.get(lane).poll());
+                    progress = true;
+                    break;
+                }
+            }
+
+            wait = getWaitNanos(now, bulkPaused);
+            if (wait < 0 || wakeupScheduled) {
+                wait = -1;
+            } else {
+                wakeupScheduled = true;
+            }
+        }
+
+        for (Task<?> task : ready) {
+            task.run();
+        }
+
+        if (wait >= 0) {
+            Mono.delay(Duration.ofNanos(wait)).subscribe(tick -> {
+                synchronized (this) {
+                    wakeupScheduled = false;
+                }
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Adds the tokens earned since the last refill. Up to one second of the rate can be saved up.
+     */
+    private void refill(long now) {
+        double rate = Math.max(ratePerSecond.getAsInt(), 1);
+        double earned = (now - lastRefillNanos) / 1_000_000_000.0 * rate;
+        lastRefillNanos = now;
+
+        tokens = Math.min(tokens + earned, rate);
+        for (int lane = 0; lane < laneTokens.length; lane++) {
+            laneTokens[lane] = Math.min(laneTokens[lane] + earned * shares[lane], Math.max(rate * shares[lane], 1));
+        }
+    }
+
+    /**
+     * Getting the time until a waiting request can be dispatched
+     *
+     * @return time in nanoseconds or {@code -1} if no request is waiting
+     */
+    private long getWaitNanos(long now, boolean bulkPaused) {
+        double rate = Math.max(ratePerSecond.getAsInt(), 1);
+        double needed = -1;
+
+        for (Priority priority : PRIORITIES) {
+            int lane = priority.ordinal();
+            if (lanes.get(lane).isEmpty()) continue;
+
+            double laneNeeded;
+            if (priority == Priority.BULK && bulkPaused) {
+                laneNeeded = (bulkPausedUntilNanos - now) / 1_000_000_000.0 * rate;
+            } else {
+                laneNeeded = Math.max(1 - tokens, (1 - laneTokens[lane]) / shares[lane]);
+            }
+
+            if (needed < 0 || laneNeeded < needed) needed = laneNeeded;
+        }
+
+        if (needed < 0) return -1;
+        return Math.max((long) (needed / rate * 1_000_000_000L), 1_000_000L);
+    }
+
+    /**
+     * Getting the number of requests waiting in a lane
+     *
+     * @param priority priority of the lane
+     * @return number of waiting requests
+     */
+    public synchronized int getQueueDepth(Priority priority) {
+        return lanes.get(priority.ordinal()).size();
+    }
+
+    /**
+     * Checks whether all scheduled requests have finished.
+     *
+     * @return {@code true} if no request is waiting in a lane or being sent
+     */
+    public boolean isIdle() {
+        return unfinished.get() == 0;
+    }
+
+    /**
+     * Getting the number of requests dispatched from a lane
+     *
+     * @param priority priority of the lane
+     * @return number of dispatched requests
+     */
+    public long getDispatchedCount(Priority priority) {
+        return dispatched[priority.ordinal()].sum();
+    }
+
+    /**
+     * Getting the number of bulk requests dropped because the bulk lane was full
+     *
+     * @return number of dropped requests
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    /**
+     * A waiting request and the sink of its caller
+     */
+    private static class Task<T> {
+        private final Mono<T> request;
+        private final MonoSink<T> sink;
+        private final Runnable onShed;
+
+        private Task(Mono<T> request, MonoSink<T> sink, Runnable onShed) {
+            this.request = request;
+            this.sink = sink;
+            this.onShed = onShed;
+        }
+
+        private void run() {
+            request.subscribe(sink::success, sink::error, sink::success);
+        }
+
+        private void shed() {
+            if (onShed != null) onShed.run();
+            sink.success();
+        }
+    }
+}
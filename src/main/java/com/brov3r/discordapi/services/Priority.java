@@ -0,0 +1,19 @@
+package com.brov3r.discordapi.services;
+
+/**
+ * Priority of an outbound request, deciding its lane in the {@link OutboundScheduler}
+ */
+public enum Priority {
+    /**
+     * Admin alerts such as crash notices and anti-cheat flags, always dispatched first
+     */
+    CRITICAL,
+    /**
+     * Regular messages and operations
+     */
+    NORMAL,
+    /**
+     * High-volume traffic such as chat relay, delayed or dropped when Discord is rate limiting the bot
+     */
+    BULK
+}
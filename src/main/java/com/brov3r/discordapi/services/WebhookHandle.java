@@ -0,0 +1,74 @@
+package com.brov3r.discordapi.services;
+
+/**
+ * Parsed webhook URL holding the webhook ID and token required to execute it.
+ */
+public class WebhookHandle {
+    private static final String WEBHOOKS_PATH = "/webhooks/";
+
+    private final long id;
+    private final String token;
+
+    /**
+     * Constructs a new webhook handle.
+     *
+     * @param id    ID of the webhook
+     * @param token token of the webhook
+     */
+    public WebhookHandle(long id, String token) {
+        this.id = id;
+        this.token = token;
+    }
+
+    /**
+     * Parses a webhook URL of the form {@code https://discord.com/api/webhooks/<id>/<token>}.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @return parsed webhook handle or {@code null} if the URL is invalid
+     */
+    public static WebhookHandle parse(String webhookUrl) {
+        if (webhookUrl == null) return null;
+
+        int idStart = webhookUrl.indexOf(WEBHOOKS_PATH);
+        if (idStart < 0) return null;
+        idStart += WEBHOOKS_PATH.length();
+
+        int idEnd = webhookUrl.indexOf('/', idStart);
+        if (idEnd <= idStart) return null;
+
+        int tokenEnd = idEnd + 1;
+        while (tokenEnd < webhookUrl.length()) {
+            char c = webhookUrl.charAt(tokenEnd);
+            if (c == '/' || c == '?' || c == '#') break;
+            tokenEnd++;
+        }
+        if (tokenEnd == idEnd + 1) return null;
+
+        long id;
+        try {
+            id = Long.parseUnsignedLong(webhookUrl, idStart, idEnd, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        return new WebhookHandle(id, webhookUrl.substring(idEnd + 1, tokenEnd));
+    }
+
+    /**
+     * Returns the ID of the webhook.
+     *
+     * @return ID of the webhook
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the token of the webhook.
+     *
+     * @return token of the webhook
+     */
+    public String getToken() {
+        return token;
+    }
+}
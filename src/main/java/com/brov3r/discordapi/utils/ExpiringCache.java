@@ -0,0 +1,173 @@
+package com.brov3r.discordapi.utils;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of asynchronously loaded values with time-based expiration.
+ * <p>
+ * Concurrent lookups of the same missing key share a single in-flight load. Failed or empty loads are not cached.
+ * When the cache grows over its maximum size, expired entries are dropped first and then the least recently used ones,
+ * down to 90% of the maximum size. The eviction scan thus runs once per batch of misses, not on every miss of a full cache.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+public class ExpiringCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final int evictedSize;
+    private final long ttlNanos;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param maxSize maximum number of cached entries
+     * @param ttl     time after which a cached entry expires
+     */
+    public ExpiringCache(int maxSize, Duration ttl) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.evictedSize = Math.max(this.maxSize * 9 / 10, 1);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Getting a value from the cache, loading it if it is missing or expired.
+     *
+     * @param key    key of the value
+     * @param loader function loading the value if it is not cached
+     * @return a Mono emitting the cached or loaded value
+     */
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        long now = System.nanoTime();
+
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            entry.lastAccess = now;
+            hits.increment();
+            return entry.value;
+        }
+
+        Entry<V> loaded = entries.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired(now)) return current;
+
+            misses.increment();
+            Entry<V> created = new Entry<>(now + ttlNanos, now);
+            created.value = loader.apply(k)
+                    .doOnSuccess(value -> {
+                        if (value == null) entries.remove(k, created);
+                    })
+                    .doOnError(throwable -> entries.remove(k, created))
+                    .cache();
+            return created;
+        });
+        loaded.lastAccess = now;
+
+        // Concurrent misses of a full cache leave the eviction to a single thread
+        if (entries.size() > maxSize && evicting.compareAndSet(false, true)) {
+            try {
+                evict(now);
+            } finally {
+                evicting.set(false);
+            }
+        }
+
+        return loaded.value;
+    }
+
+    /**
+     * Removes the value with the specified key from the cache.
+     *
+     * @param key key of the value
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all values from the cache.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Drops expired entries and then the least recently used ones until the cache is down to 90% of its maximum size.
+     *
+     * @param now current time in nanoseconds
+     */
+    private void evict(long now) {
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+
+        int overflow = entries.size() - evictedSize;
+        if (overflow <= 0) return;
+
+        List<Map.Entry<K, Entry<V>>> snapshot = new ArrayList<>(entries.entrySet());
+        snapshot.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+
+        for (int i = 0; i < overflow && i < snapshot.size(); i++) {
+            Map.Entry<K, Entry<V>> eldest = snapshot.get(i);
+            entries.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Getting the number of lookups served from the cache
+     *
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Getting the number of lookups that required loading the value
+     *
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Getting the number of cached entries
+     *
+     * @return number of cached entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Cached value with its expiration and access times
+     *
+     * @param <V> type of the cached value
+     */
+    private static class Entry<V> {
+        private final long expiresAt;
+        private volatile long lastAccess;
+        private Mono<V> value;
+
+        private Entry(long expiresAt, long lastAccess) {
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
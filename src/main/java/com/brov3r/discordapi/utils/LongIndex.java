@@ -0,0 +1,155 @@
+package com.brov3r.discordapi.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable index of values by primitive {@code long} keys such as channel and guild IDs.
+ * <p>
+ * Keys are kept in a sorted array and looked up by binary search, so lookups neither box the key nor allocate.
+ * Changes create a new index, which suits data that is read on every message but rarely changed.
+ *
+ * @param <V> type of the indexed values
+ */
+public final class LongIndex<V> {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final LongIndex<?> EMPTY = new LongIndex<>(new long[0], new List[0]);
+
+    private final long[] keys;
+    private final List<V>[] values;
+
+    private LongIndex(long[] keys, List<V>[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Getting an empty index
+     *
+     * @param <V> type of the indexed values
+     * @return empty index
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> LongIndex<V> empty() {
+        return (LongIndex<V>) EMPTY;
+    }
+
+    /**
+     * Getting the values indexed by a key
+     *
+     * @param key the key
+     * @return read-only list of the values, empty if there are none
+     */
+    public List<V> get(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index < 0 ? Collections.emptyList() : values[index];
+    }
+
+    /**
+     * Checks whether any value is indexed by a key
+     *
+     * @param key the key
+     * @return {@code true} if the key has values
+     */
+    public boolean containsKey(long key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    /**
+     * Checks whether the index is empty
+     *
+     * @return {@code true} if no value is indexed
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Creates an index with a value added under a key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the new index
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LongIndex<V> with(long key, V value) {
+        int index = Arrays.binarySearch(keys, key);
+
+        if (index >= 0) {
+            List<V>[] newValues = values.clone();
+            List<V> list = new ArrayList<>(values[index]);
+            list.add(value);
+            newValues[index] = Collections.unmodifiableList(list);
+            return new LongIndex<>(keys, newValues);
+        }
+
+        int insertAt = -index - 1;
+        long[] newKeys = new long[keys.length + 1];
+        List<V>[] newValues = new List[keys.length + 1];
+
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        System.arraycopy(values, 0, newValues, 0, insertAt);
+        newKeys[insertAt] = key;
+        newValues[insertAt] = Collections.singletonList(value);
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(values, insertAt, newValues, insertAt + 1, keys.length - insertAt);
+
+        return new LongIndex<>(newKeys, newValues);
+    }
+
+    /**
+     * Creates an index with a value removed from all keys. Keys left without values are removed.
+     *
+     * @param value the value, compared by identity
+     * @return the new index
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LongIndex<V> without(V value) {
+        long[] newKeys = new long[keys.length];
+        List<V>[] newValues = new List[keys.length];
+        int size = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            List<V> list = new ArrayList<>(values[i]);
+            list.removeIf(indexed -> indexed == value);
+            if (list.isEmpty()) continue;
+
+            newKeys[size] = keys[i];
+            newValues[size] = Collections.unmodifiableList(list);
+            size++;
+        }
+
+        return new LongIndex<>(Arrays.copyOf(newKeys, size), Arrays.copyOf(newValues, size));
+    }
+
+    /**
+     * Parses comma-separated IDs into a sorted array, skipping invalid ones.
+     *
+     * @param value comma-separated IDs
+     * @return sorted IDs, empty if the value is empty
+     */
+    public static long[] parseIds(String value) {
+        if (value == null || value.isBlank()) return new long[0];
+
+        String[] parts = value.split(",");
+        long[] ids = new long[parts.length];
+        int size = 0;
+
+        for (String part : parts) {
+            if (part.isBlank()) continue;
+
+            try {
+                ids[size] = Long.parseLong(part.trim());
+                size++;
+            } catch (NumberFormatException e) {
+                System.out.printf("[!] Invalid Discord ID '%s' is ignored%n", part.trim());
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(ids, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
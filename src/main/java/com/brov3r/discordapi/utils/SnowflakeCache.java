@@ -0,0 +1,40 @@
+package com.brov3r.discordapi.utils;
+
+import discord4j.common.util.Snowflake;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning cache for converting string channel IDs to {@link Snowflake} objects.
+ * <p>
+ * Plugins usually address the same handful of channels, so repeated conversions of the same ID
+ * are served from the cache without parsing or allocating. The cache is cleared when it reaches its maximum size.
+ * Message and user IDs are rarely repeated and would only churn the cache, so they are not interned.
+ */
+public final class SnowflakeCache {
+    private static final int MAX_SIZE = 1024;
+    private static final Map<String, Snowflake> cache = new ConcurrentHashMap<>();
+
+    private SnowflakeCache() {
+    }
+
+    /**
+     * Converts a string ID to a {@link Snowflake}, reusing a previously converted instance if possible.
+     *
+     * @param id string representation of the ID
+     * @return snowflake of the ID
+     * @throws NumberFormatException if the ID is not a valid unsigned number
+     */
+    public static Snowflake of(String id) {
+        Snowflake snowflake = cache.get(id);
+        if (snowflake != null) return snowflake;
+
+        snowflake = Snowflake.of(id);
+
+        if (cache.size() >= MAX_SIZE) cache.clear();
+        cache.put(id, snowflake);
+
+        return snowflake;
+    }
+}
@@ -0,0 +1,189 @@
+package com.brov3r.discordapi.utils;
+
+import java.time.Duration;
+
+/**
+ * Token buckets keyed by IDs such as user and channel snowflakes.
+ * <p>
+ * Each bucket is a single {@code long} holding the time at which it is full again (the generic cell rate algorithm).
+ * The buckets are kept in open-addressing tables of primitive keys and values, so taking a token neither boxes the
+ * key nor allocates. The keys are spread over a fixed number of tables, each guarded by its own lock, so calls for
+ * different keys rarely contend. A bucket that is full again carries no state and is expired: it is dropped when its
+ * table is swept, at most once per refill period, so the tables only hold the IDs that used the buckets recently.
+ */
+public final class TokenBuckets {
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * Constructs new token buckets.
+     *
+     * @param capacity number of tokens of a full bucket, i.e. the number of calls allowed in a burst
+     * @param period   time in which an empty bucket is refilled
+     */
+    public TokenBuckets(int capacity, Duration period) {
+        int tokens = Math.max(capacity, 1);
+
+        this.intervalNanos = Math.max(period.toNanos() / tokens, 1);
+        this.toleranceNanos = intervalNanos * (tokens - 1);
+
+        long now = System.nanoTime();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of a key.
+     *
+     * @param key the key, e.g. a user ID
+     * @return {@code 0} if a token was taken, otherwise the time in nanoseconds until the next token is available
+     */
+    public long tryAcquire(long key) {
+        long now = System.nanoTime();
+        long hash = hash(key);
+        Stripe stripe = stripes[(int) (hash >>> 60)];
+
+        synchronized (stripe) {
+            if (now - stripe.nextSweep >= 0) {
+                stripe.sweep(now);
+                stripe.nextSweep = now + intervalNanos + toleranceNanos;
+            }
+
+            int slot = stripe.find(key, (int) hash);
+            long fullAt = stripe.used[slot] ? stripe.values[slot] : now;
+            long wait = fullAt - now - toleranceNanos;
+            if (wait > 0) return wait;
+
+            long start = fullAt - now > 0 ? fullAt : now;
+            stripe.put(slot, key, (int) hash, start + intervalNanos);
+            return 0;
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, e.g. when a call is rejected by another limit after all.
+     *
+     * @param key the key the token was taken for
+     */
+    public void refund(long key) {
+        long hash = hash(key);
+        Stripe stripe = stripes[(int) (hash >>> 60)];
+
+        synchronized (stripe) {
+            int slot = stripe.find(key, (int) hash);
+            if (stripe.used[slot]) stripe.values[slot] -= intervalNanos;
+        }
+    }
+
+    /**
+     * Getting the number of buckets that are not full
+     *
+     * @return number of tracked keys
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Spreads the bits of a key, since snowflakes differ mostly in their low and middle bits.
+     */
+    private static long hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Open-addressing table of the buckets of a share of the keys, guarded by its own monitor
+     */
+    private static final class Stripe {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] values = new long[INITIAL_CAPACITY];
+        private boolean[] used = new boolean[INITIAL_CAPACITY];
+        private int size;
+        private long nextSweep;
+
+        private Stripe(long now) {
+            this.nextSweep = now;
+        }
+
+        /**
+         * Getting the slot of a key, or the free slot to put it in
+         */
+        private int find(long key, int hash) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void put(int slot, long key, int hash, long value) {
+            if (used[slot]) {
+                values[slot] = value;
+                return;
+            }
+
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2, false, 0);
+                slot = find(key, hash);
+            }
+
+            keys[slot] = key;
+            values[slot] = value;
+            used[slot] = true;
+            size++;
+        }
+
+        /**
+         * Drops the buckets that are full again, shrinking the table if it is mostly empty.
+         */
+        private void sweep(long now) {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i] && now - values[i] < 0) live++;
+            }
+            if (live == size) return;
+
+            int capacity = INITIAL_CAPACITY;
+            while (live * 2 > capacity) capacity *= 2;
+            rehash(capacity, true, now);
+        }
+
+        /**
+         * Moves the buckets into a table of a new capacity, optionally dropping those that are full again.
+         */
+        private void rehash(int capacity, boolean dropFull, long now) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+
+            keys = new long[capacity];
+            values = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i] || (dropFull && now - oldValues[i] >= 0)) continue;
+
+                int slot = find(oldKeys[i], (int) hash(oldKeys[i]));
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+                size++;
+            }
+        }
+    }
+}
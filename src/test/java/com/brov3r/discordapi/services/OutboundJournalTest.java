@@ -0,0 +1,201 @@
+package com.brov3r.discordapi.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Durability of the outbound journal: entries written, damaged or cut off in the file and read back on reopening.
+ */
+class OutboundJournalTest {
+    private static final int MAX_SIZE = 64 * 1024;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 25;
+    private static final long CHANNEL_ID = 500000000000000001L;
+
+    @TempDir
+    Path directory;
+
+    private final List<OutboundJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        opened.forEach(OutboundJournal::close);
+    }
+
+    @Test
+    void replaysPendingEntriesInOrderAfterReopening() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        OutboundJournal journal = open(path, MAX_SIZE);
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(journal.append(CHANNEL_ID + i, payload(i)));
+        }
+        journal.close();
+
+        List<OutboundJournal.Entry> pending = open(path, MAX_SIZE).getPending();
+
+        assertEquals(5, pending.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(CHANNEL_ID + i, pending.get(i).getChannelId());
+            assertEquals(payload(i), pending.get(i).getPayload());
+        }
+    }
+
+    @Test
+    void doesNotReplayAcknowledgedEntries() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        OutboundJournal journal = open(path, MAX_SIZE);
+        List<OutboundJournal.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            entries.add(journal.append(CHANNEL_ID, payload(i)));
+        }
+        journal.acknowledge(entries.get(0).getSequence());
+        journal.acknowledge(entries.get(2).getSequence());
+        journal.close();
+
+        List<OutboundJournal.Entry> pending = open(path, MAX_SIZE).getPending();
+
+        assertEquals(List.of(payload(1), payload(3)), payloads(pending));
+    }
+
+    @Test
+    void continuesSequencesAfterReopening() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        OutboundJournal journal = open(path, MAX_SIZE);
+        OutboundJournal.Entry first = journal.append(CHANNEL_ID, payload(0));
+        journal.acknowledge(first.getSequence());
+        journal.close();
+
+        OutboundJournal.Entry second = open(path, MAX_SIZE).append(CHANNEL_ID, payload(1));
+
+        assertTrue(second.getSequence() > first.getSequence());
+        assertNotEquals(first.getNonce(), second.getNonce());
+    }
+
+    @Test
+    void stopsReadingAtRecordWithWrongChecksum() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        OutboundJournal journal = open(path, MAX_SIZE);
+        for (int i = 0; i < 3; i++) {
+            journal.append(CHANNEL_ID, payload(i));
+        }
+        journal.close();
+
+        // Flip a byte of the payload of the second record
+        int second = HEADER_SIZE + recordLength(payload(0));
+        corrupt(path, second + RECORD_HEADER_SIZE);
+
+        List<OutboundJournal.Entry> pending = open(path, MAX_SIZE).getPending();
+
+        assertEquals(List.of(payload(0)), payloads(pending));
+    }
+
+    @Test
+    void cutsOffTornTailRecord() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        OutboundJournal journal = open(path, MAX_SIZE);
+        for (int i = 0; i < 3; i++) {
+            journal.append(CHANNEL_ID, payload(i));
+        }
+        journal.close();
+
+        // The file ends in the middle of the payload of the last record, as if the server crashed while writing it
+        int third = HEADER_SIZE + recordLength(payload(0)) + recordLength(payload(1));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(third + RECORD_HEADER_SIZE + 3);
+        }
+
+        OutboundJournal reopened = open(path, MAX_SIZE);
+
+        assertEquals(List.of(payload(0), payload(1)), payloads(reopened.getPending()));
+        assertNotNull(reopened.append(CHANNEL_ID, payload(3)));
+        assertEquals(List.of(payload(0), payload(1), payload(3)), payloads(reopened.getPending()));
+    }
+
+    @Test
+    void compactsAcknowledgedEntriesWhenFull() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        int recordLength = recordLength(payload(0));
+        // Room for exactly four records and the end marker
+        OutboundJournal journal = open(path, HEADER_SIZE + 4 * recordLength + 4);
+
+        List<OutboundJournal.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            entries.add(journal.append(CHANNEL_ID, payload(i)));
+        }
+        assertNull(journal.append(CHANNEL_ID, payload(4)));
+
+        journal.acknowledge(entries.get(0).getSequence());
+        journal.acknowledge(entries.get(2).getSequence());
+        assertNotNull(journal.append(CHANNEL_ID, payload(5)));
+        assertNotNull(journal.append(CHANNEL_ID, payload(6)));
+        assertEquals(List.of(payload(1), payload(3), payload(5), payload(6)), payloads(journal.getPending()));
+        journal.close();
+
+        List<OutboundJournal.Entry> pending = open(path, HEADER_SIZE + 4 * recordLength + 4).getPending();
+
+        assertEquals(List.of(payload(1), payload(3), payload(5), payload(6)), payloads(pending));
+    }
+
+    @Test
+    void startsOverOnceEverythingIsAcknowledged() throws IOException {
+        Path path = directory.resolve("outbound.journal");
+        int recordLength = recordLength(payload(0));
+        OutboundJournal journal = open(path, HEADER_SIZE + 2 * recordLength + 4);
+
+        for (int i = 0; i < 10; i++) {
+            OutboundJournal.Entry entry = journal.append(CHANNEL_ID, payload(i));
+            assertNotNull(entry);
+            journal.acknowledge(entry.getSequence());
+        }
+        journal.close();
+
+        assertEquals(0, open(path, HEADER_SIZE + 2 * recordLength + 4).getPendingCount());
+    }
+
+    private OutboundJournal open(Path path, int maxSize) throws IOException {
+        OutboundJournal journal = new OutboundJournal(path, maxSize);
+        opened.add(journal);
+        return journal;
+    }
+
+    private static void corrupt(Path path, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer single = ByteBuffer.allocate(1);
+            channel.read(single, position);
+            single.put(0, (byte) (single.get(0) ^ 0xFF)).rewind();
+            channel.write(single, position);
+        }
+    }
+
+    private static String payload(int index) {
+        return String.format("{\"content\":\"message %03d\"}", index);
+    }
+
+    private static int recordLength(String payload) {
+        return RECORD_HEADER_SIZE + payload.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static List<String> payloads(List<OutboundJournal.Entry> entries) {
+        List<String> payloads = new ArrayList<>(entries.size());
+        for (OutboundJournal.Entry entry : entries) {
+            payloads.add(entry.getPayload());
+        }
+        return payloads;
+    }
+}